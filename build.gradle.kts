@@ -9,6 +9,7 @@ plugins {
     id("org.hildan.github.changelog") version "0.8.0"
     id("com.github.davidmc24.gradle.plugin.avro") version "1.2.0"
     id("io.freefair.lombok") version "5.1.1"
+    id("me.champeau.gradle.jmh") version "0.4.8"
 }
 
 allprojects {
@@ -80,8 +81,6 @@ allprojects {
 
     dependencies {
         val kafkaVersion: String by project
-        implementation(group = "org.apache.kafka", name = "kafka_2.13", version = kafkaVersion)
-
         api(group = "info.picocli", name = "picocli", version = "4.0.4")
         api(group = "org.apache.kafka", name = "kafka-streams", version = kafkaVersion)
         val confluentVersion: String by project
@@ -104,6 +103,7 @@ allprojects {
 
         testImplementation(group = "com.bakdata.fluent-kafka-streams-tests", name = "fluent-kafka-streams-tests-junit5", version = "2.3.0")
         testImplementation(group = "org.apache.kafka", name = "kafka-streams-test-utils", version = kafkaVersion)
+        testImplementation(group = "org.apache.kafka", name = "kafka_2.13", version = kafkaVersion)
         testImplementation(group = "com.bakdata.fluent-kafka-streams-tests", name = "schema-registry-mock-junit5", version = "2.3.0") {
             exclude(group = "junit")
         }
@@ -112,6 +112,8 @@ allprojects {
         }
 
         testImplementation("com.ginsberg:junit5-system-exit:1.0.0")
+
+        "jmhImplementation"(group = "io.confluent", name = "kafka-streams-avro-serde", version = confluentVersion)
     }
 }
 
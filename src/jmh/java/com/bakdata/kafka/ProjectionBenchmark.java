@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.streams.serdes.avro.GenericAvroDeserializer;
+import io.confluent.kafka.streams.serdes.avro.GenericAvroSerializer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.SchemaBuilder.FieldAssembler;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares full decoding of a record with 200 fields by {@link GenericAvroDeserializer} with decoding only 3 of its
+ * fields by {@link ProjectingAvroDeserializer}. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+    private static final int FIELDS = 200;
+    private static final String TOPIC = "topic";
+    private byte[] data;
+    private GenericAvroDeserializer fullDeserializer;
+    private ProjectingAvroDeserializer projectingDeserializer;
+
+    private static Schema createSchema() {
+        FieldAssembler<Schema> fields = SchemaBuilder.record("Wide").fields();
+        for (int i = 0; i < FIELDS; i++) {
+            fields = i % 2 == 0 ? fields.requiredString("field" + i) : fields.requiredLong("field" + i);
+        }
+        return fields.endRecord();
+    }
+
+    private static GenericRecord createRecord(final Schema schema) {
+        final GenericRecordBuilder builder = new GenericRecordBuilder(schema);
+        for (int i = 0; i < FIELDS; i++) {
+            builder.set("field" + i, i % 2 == 0 ? "value of field " + i : (Object) (long) i);
+        }
+        return builder.build();
+    }
+
+    @Setup
+    public void setup() {
+        final SchemaRegistryClient client = new MockSchemaRegistryClient();
+        final Map<String, String> configs =
+                Map.of(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://benchmark");
+        final Schema schema = createSchema();
+        try (final GenericAvroSerializer serializer = new GenericAvroSerializer(client)) {
+            serializer.configure(configs, false);
+            this.data = serializer.serialize(TOPIC, createRecord(schema));
+        }
+        this.fullDeserializer = new GenericAvroDeserializer(client);
+        this.fullDeserializer.configure(configs, false);
+        this.projectingDeserializer = ProjectingAvroDeserializer.builder()
+                .field("field0")
+                .field("field1")
+                .field("field" + (FIELDS - 1))
+                .schemaRegistryClient(client)
+                .build();
+        this.projectingDeserializer.configure(configs, false);
+    }
+
+    @Benchmark
+    public GenericRecord fullDecoding() {
+        return this.fullDeserializer.deserialize(TOPIC, this.data);
+    }
+
+    @Benchmark
+    public GenericRecord projectedDecoding() {
+        return this.projectingDeserializer.deserialize(TOPIC, this.data);
+    }
+}
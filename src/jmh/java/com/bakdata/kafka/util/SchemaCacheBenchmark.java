@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.RestService;
+import io.confluent.kafka.schemaregistry.client.rest.entities.Schema;
+import io.confluent.kafka.schemaregistry.client.rest.entities.SchemaString;
+import io.confluent.kafka.schemaregistry.client.rest.entities.requests.RegisterSchemaRequest;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.SchemaBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares schema lookups of a {@link CachedSchemaRegistryClient} with lookups of a
+ * {@link CachingSchemaRegistryClient} for 1 to 16 threads. The {@link CachedSchemaRegistryClient} is backed by a stub
+ * {@link RestService} that serves the benchmarked schemas without a schema registry. Both clients are warmed up
+ * before the measurement, so only cached lookups are compared. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class SchemaCacheBenchmark {
+    private static final int SCHEMAS = 100;
+    private static final String SUBJECT = "topic-value";
+    private final ParsedSchema[] schemas = new ParsedSchema[SCHEMAS];
+    private SchemaRegistryClient cachedClient;
+    private SchemaRegistryClient cachingClient;
+
+    private static int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(SCHEMAS);
+    }
+
+    @Setup
+    public void setup() throws IOException, RestClientException {
+        for (int i = 0; i < SCHEMAS; i++) {
+            this.schemas[i] = new AvroSchema(SchemaBuilder.record("Record" + i).fields()
+                    .requiredString("value")
+                    .endRecord());
+        }
+        final SchemaRegistryClient registry =
+                new CachedSchemaRegistryClient(new StubRestService(this.schemas), SCHEMAS);
+        this.cachedClient = registry;
+        this.cachingClient = new CachingSchemaRegistryClient(registry, PersistentSchemaCache.inMemory());
+        for (int i = 0; i < SCHEMAS; i++) {
+            this.cachedClient.getSchemaBySubjectAndId(SUBJECT, i);
+            this.cachedClient.getId(SUBJECT, this.schemas[i]);
+            this.cachingClient.getSchemaBySubjectAndId(SUBJECT, i);
+            this.cachingClient.getId(SUBJECT, this.schemas[i]);
+        }
+    }
+
+    @Benchmark
+    public ParsedSchema cachedSchemaById() throws IOException, RestClientException {
+        return this.cachedClient.getSchemaBySubjectAndId(SUBJECT, randomIndex());
+    }
+
+    @Benchmark
+    public ParsedSchema cachingSchemaById() throws IOException, RestClientException {
+        return this.cachingClient.getSchemaBySubjectAndId(SUBJECT, randomIndex());
+    }
+
+    @Benchmark
+    public int cachedIdBySchema() throws IOException, RestClientException {
+        return this.cachedClient.getId(SUBJECT, this.schemas[randomIndex()]);
+    }
+
+    @Benchmark
+    public int cachingIdBySchema() throws IOException, RestClientException {
+        return this.cachingClient.getId(SUBJECT, this.schemas[randomIndex()]);
+    }
+
+    @Threads(1)
+    public static class Threads1 extends SchemaCacheBenchmark {
+    }
+
+    @Threads(2)
+    public static class Threads2 extends SchemaCacheBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends SchemaCacheBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends SchemaCacheBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends SchemaCacheBenchmark {
+    }
+
+    /**
+     * Serves schema lookups by id and by schema for a fixed array of schemas whose ids are their indices. All
+     * requests are answered at the HTTP level, so the stub does not depend on the client methods that issue them.
+     */
+    private static final class StubRestService extends RestService {
+        private static final String IDS_PATH = "/schemas/ids/";
+        private static final String SUBJECTS_PATH = "/subjects/";
+        private final ParsedSchema[] schemas;
+
+        private StubRestService(final ParsedSchema[] schemas) {
+            super("http://localhost:8081");
+            this.schemas = schemas;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T httpRequest(final String path, final String method, final byte[] requestBodyData,
+                final Map<String, String> requestProperties, final TypeReference<T> responseFormat)
+                throws IOException, RestClientException {
+            if (path.startsWith(IDS_PATH)) {
+                final int id = Integer.parseInt(path.substring(IDS_PATH.length()).split("\\?")[0]);
+                return (T) new SchemaString(this.schemas[id].canonicalString());
+            }
+            if ("POST".equals(method) && path.startsWith(SUBJECTS_PATH)) {
+                final String schema =
+                        RegisterSchemaRequest.fromJson(new String(requestBodyData, StandardCharsets.UTF_8))
+                                .getSchema();
+                for (int id = 0; id < this.schemas.length; id++) {
+                    if (this.schemas[id].canonicalString().equals(schema)) {
+                        return (T) new Schema(SUBJECT, 1, id, AvroSchema.TYPE, List.of(), schema);
+                    }
+                }
+            }
+            throw new RestClientException("Not found: " + method + " " + path, 404, 40401);
+        }
+    }
+}
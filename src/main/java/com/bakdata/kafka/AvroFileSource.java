@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.FileChunks.Chunk;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DatumReader;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * {@link SplittableSource} that reads an Avro container file. The file is split into chunks of equal size and each
+ * chunk is read by a separate shard from a memory-mapped input. A shard reads all blocks whose sync marker lies within
+ * its chunk, so that every block is read exactly once.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+@Builder
+public final class AvroFileSource<K, V> implements SplittableSource<K, V> {
+    private final @NonNull Path file;
+    /**
+     * Mapper converting a single record of the file to a record to send
+     */
+    private final @NonNull Function<GenericRecord, ProducerRecord<K, V>> mapper;
+
+    @Override
+    public List<RecordShard<K, V>> split(final int parallelism) {
+        try {
+            return FileChunks.split(Files.size(this.file), parallelism).stream()
+                    .map(chunk -> (RecordShard<K, V>) sink -> this.generate(chunk, sink))
+                    .collect(Collectors.toList());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to split file " + this.file, e);
+        }
+    }
+
+    private void generate(final Chunk chunk, final RecordSink<K, V> sink) throws IOException {
+        final DatumReader<GenericRecord> datumReader = new GenericDatumReader<>();
+        try (final DataFileReader<GenericRecord> reader =
+                new DataFileReader<>(MappedSeekableInput.open(this.file), datumReader)) {
+            // tell() includes the read-ahead of the decoder, so always sync.
+            // sync(0) finds the sync marker of the header
+            reader.sync(chunk.getStart());
+            GenericRecord record = null;
+            while (reader.hasNext() && !reader.pastSync(chunk.getEnd())) {
+                record = reader.next(record);
+                sink.send(this.mapper.apply(record));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.CachingSchemaRegistryClient;
+import com.google.common.base.Preconditions;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroDeserializer;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerializer;
+import java.util.Map;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * {@link SpecificAvroSerde} that uses a schema registry client shared by all serdes of the JVM, so that each schema
+ * is fetched only once. The cache of the shared client is persisted to
+ * {@link CachingSchemaRegistryClient#SCHEMA_CACHE_FILE_CONFIG} if configured.
+ *
+ * @param <T> type of records
+ * @see CachingSchemaRegistryClient#getShared(Map)
+ */
+public class CachedSpecificAvroSerde<T extends SpecificRecord> implements Serde<T> {
+    private Serializer<T> serializer;
+    private Deserializer<T> deserializer;
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        final SchemaRegistryClient client = CachingSchemaRegistryClient.getShared(configs);
+        this.serializer = new SpecificAvroSerializer<>(client);
+        this.serializer.configure(configs, isKey);
+        this.deserializer = new SpecificAvroDeserializer<>(client);
+        this.deserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public void close() {
+        if (this.serializer != null) {
+            this.serializer.close();
+        }
+        if (this.deserializer != null) {
+            this.deserializer.close();
+        }
+    }
+
+    @Override
+    public Serializer<T> serializer() {
+        Preconditions.checkState(this.serializer != null, "Serde has not been configured");
+        return this.serializer;
+    }
+
+    @Override
+    public Deserializer<T> deserializer() {
+        Preconditions.checkState(this.deserializer != null, "Serde has not been configured");
+        return this.deserializer;
+    }
+}
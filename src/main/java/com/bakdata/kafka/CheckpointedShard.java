@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+/**
+ * Independent part of a {@link CheckpointedSource} that generates records on a single thread starting from a
+ * position.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public interface CheckpointedShard<K, V> {
+    /**
+     * Get the id of this shard. Ids must be unique within a source and stable across restarts.
+     *
+     * @return id of this shard
+     */
+    String getId();
+
+    /**
+     * Get the position at which this shard starts if it has not been checkpointed yet.
+     *
+     * @return initial position
+     */
+    long getInitialPosition();
+
+    /**
+     * Generate all records of this shard that follow a position.
+     *
+     * @param position position to resume from
+     * @param sink sink to send generated records to
+     * @throws Exception if records cannot be generated
+     */
+    void generate(long position, CheckpointedSink<K, V> sink) throws Exception;
+}
@@ -24,129 +24,185 @@
 
 package com.bakdata.kafka;
 
-import static com.bakdata.kafka.KafkaApplication.RESET_SLEEP_MS;
-
+import com.bakdata.kafka.util.ApplicationResetter;
 import com.bakdata.kafka.util.ConsumerGroupClient;
+import com.bakdata.kafka.util.DeletionWaiter;
 import com.bakdata.kafka.util.ImprovedAdminClient;
 import com.bakdata.kafka.util.SchemaTopicClient;
 import com.bakdata.kafka.util.TopologyInformation;
-import com.google.common.collect.ImmutableList;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Properties;
-import java.util.stream.Collectors;
-import kafka.tools.StreamsResetter;
+import java.util.Map;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StreamsConfig;
 import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.state.internals.OffsetCheckpoint;
 
 
 @Slf4j
 public final class CleanUpRunner {
-    private static final int EXIT_CODE_SUCCESS = 0;
+    private static final String ROCKSDB_DIR = "rocksdb";
+    private static final String CHECKPOINT_FILE_NAME = ".checkpoint";
     private final String appId;
     private final KafkaStreams streams;
     private final TopologyInformation topologyInformation;
     @Getter
     private final @NonNull ImprovedAdminClient adminClient;
+    private final @NonNull Duration timeout;
 
     @Builder
     private CleanUpRunner(final @NonNull Topology topology, final @NonNull String appId,
-            final @NonNull ImprovedAdminClient adminClient, final @NonNull KafkaStreams streams) {
+            final @NonNull ImprovedAdminClient adminClient, final @NonNull KafkaStreams streams,
+            final Duration timeout) {
         this.appId = appId;
         this.adminClient = adminClient;
         this.streams = streams;
         this.topologyInformation = new TopologyInformation(topology, appId);
+        this.timeout = timeout == null ? KafkaApplication.DEFAULT_CLEAN_UP_TIMEOUT : timeout;
     }
 
     public static void runResetter(final Collection<String> inputTopics, final Collection<String> intermediateTopics,
             final ImprovedAdminClient adminClient, final String appId) {
-        // StreamsResetter's internal AdminClient can only be configured with a properties file
-        final File tempFile = createTemporaryPropertiesFile(appId, adminClient.getProperties());
-        final ImmutableList.Builder<String> argList = ImmutableList.<String>builder()
-                .add("--application-id", appId)
-                .add("--bootstrap-servers", adminClient.getBootstrapServers())
-                .add("--config-file", tempFile.toString());
-        final Collection<String> allTopics = adminClient.getTopicClient().listTopics();
-        final Collection<String> existingInputTopics = filterExistingTopics(inputTopics, allTopics);
-        if (!existingInputTopics.isEmpty()) {
-            argList.add("--input-topics", String.join(",", existingInputTopics));
-        }
-        final Collection<String> existingIntermediateTopics = filterExistingTopics(intermediateTopics, allTopics);
-        if (!existingIntermediateTopics.isEmpty()) {
-            argList.add("--intermediate-topics", String.join(",", existingIntermediateTopics));
-        }
-        final String[] args = argList.build().toArray(String[]::new);
-        final StreamsResetter resetter = new StreamsResetter();
-        final int returnCode = resetter.run(args);
-        if (returnCode != EXIT_CODE_SUCCESS) {
-            throw new RuntimeException("Error running streams resetter. Exit code " + returnCode);
-        }
-    }
-
-    private static Collection<String> filterExistingTopics(final Collection<String> topics,
-            final Collection<String> allTopics) {
-        return topics.stream()
-                .filter(topicName -> {
-                    final boolean exists = allTopics.contains(topicName);
-                    if (!exists) {
-                        log.warn("Not resetting missing topic {}", topicName);
-                    }
-                    return exists;
-                })
-                .collect(Collectors.toList());
-    }
-
-    static File createTemporaryPropertiesFile(final String appId, final Properties config) {
-        // Writing properties requires Map<String, String>
-        final Properties parsedProperties = toStringBasedProperties(config);
-        try {
-            final File tempFile = File.createTempFile(appId + "-reset", "temp");
-            tempFile.deleteOnExit();
-            try (final FileOutputStream out = new FileOutputStream(tempFile)) {
-                parsedProperties.store(out, "");
-            }
-            return tempFile;
-        } catch (final IOException e) {
-            throw new RuntimeException("Could not run StreamsResetter", e);
-        }
-    }
-
-    static Properties toStringBasedProperties(final Properties config) {
-        final Properties parsedProperties = new Properties();
-        config.forEach((key, value) -> parsedProperties.setProperty(key.toString(), value.toString()));
-        return parsedProperties;
+        ApplicationResetter.builder()
+                .adminClient(adminClient)
+                .appId(appId)
+                .build()
+                .reset(inputTopics, intermediateTopics);
     }
 
     public void run(final boolean deleteOutputTopic) {
         final List<String> inputTopics = this.topologyInformation.getExternalSourceTopics();
         final List<String> intermediateTopics = this.topologyInformation.getIntermediateTopics();
         runResetter(inputTopics, intermediateTopics, this.adminClient, this.appId);
-        // the StreamsResetter is responsible for deleting internal topics
-        this.topologyInformation.getInternalTopics().forEach(this.adminClient.getSchemaTopicClient()::resetSchemaRegistry);
+        // the ApplicationResetter is responsible for deleting internal topics
+        final List<String> internalTopics = this.topologyInformation.getInternalTopics();
+        this.adminClient.getSchemaTopicClient().resetSchemaRegistry(internalTopics);
+        final Collection<String> deletedTopics = new ArrayList<>(internalTopics);
+        final Collection<String> deletedGroups = new ArrayList<>();
         if (deleteOutputTopic) {
             this.deleteTopics();
             this.deleteConsumerGroup();
+            deletedTopics.addAll(this.topologyInformation.getExternalSinkTopics());
+            deletedGroups.add(this.appId);
         }
         this.streams.cleanUp();
-        try {
-            Thread.sleep(RESET_SLEEP_MS);
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Error waiting for clean up", e);
+        this.createDeletionWaiter().awaitDeletion(deletedTopics, deletedGroups);
+    }
+
+    /**
+     * Reset the offsets of all input topics to the specified timestamp so that only data after the timestamp is
+     * reprocessed. Intermediate topics are set to the end. State is kept unless {@code resetState} is set, in which
+     * case internal topics and the local state are deleted as well.
+     *
+     * @param timestamp timestamp to reset input topics to
+     * @param resetState whether internal topics and the local state should be deleted
+     */
+    public void resetToTimestamp(final Instant timestamp, final boolean resetState) {
+        final List<String> inputTopics = this.topologyInformation.getExternalSourceTopics();
+        final List<String> intermediateTopics = this.topologyInformation.getIntermediateTopics();
+        ApplicationResetter.builder()
+                .adminClient(this.adminClient)
+                .appId(this.appId)
+                .build()
+                .resetToTimestamp(inputTopics, intermediateTopics, timestamp, resetState);
+        if (resetState) {
+            final List<String> internalTopics = this.topologyInformation.getInternalTopics();
+            this.adminClient.getSchemaTopicClient().resetSchemaRegistry(internalTopics);
+            this.streams.cleanUp();
+            this.createDeletionWaiter().awaitTopicDeletion(internalTopics);
+        }
+    }
+
+    /**
+     * Reset the state of single stores. The changelog topics of the stores, the repartition topics feeding the stores,
+     * the corresponding schemas, and the local state of the stores are deleted. Offsets of input topics and the state
+     * of all other stores are kept.
+     * <p>
+     * Local state is deleted from the state directory layout of Kafka Streams 2.7, i.e.,
+     * {@code <state.dir>/<application.id>/<subtopology>_<partition>/rocksdb/<store>} for RocksDB stores and
+     * {@code <state.dir>/<application.id>/<subtopology>_<partition>/<store>} otherwise. The offsets of the deleted
+     * changelog topics are removed from the {@code .checkpoint} file of each task using the internal
+     * {@link OffsetCheckpoint} API of Kafka Streams. Both have to be verified when upgrading Kafka Streams.
+     *
+     * @param stores names of the state stores to reset
+     * @param stateDir state directory of Kafka Streams as configured by {@link StreamsConfig#STATE_DIR_CONFIG}
+     * @throws IllegalArgumentException if a store is not part of the topology
+     */
+    public void resetStores(final Collection<String> stores, final @NonNull File stateDir) {
+        final Collection<String> internalTopics = new LinkedHashSet<>();
+        for (final String store : stores) {
+            internalTopics.add(this.topologyInformation.getChangelogTopic(store));
+            internalTopics.addAll(this.topologyInformation.getRepartitionTopics(store));
+        }
+        log.info("Resetting stores {} of application {} with internal topics {}", stores, this.appId, internalTopics);
+        ApplicationResetter.builder()
+                .adminClient(this.adminClient)
+                .appId(this.appId)
+                .build()
+                .resetInternalTopics(internalTopics);
+        this.adminClient.getSchemaTopicClient().resetSchemaRegistry(internalTopics);
+        for (final String store : stores) {
+            this.deleteLocalState(store, new File(stateDir, this.appId));
+        }
+        this.createDeletionWaiter().awaitTopicDeletion(internalTopics);
+    }
+
+    private void deleteLocalState(final String store, final File appDir) {
+        final String taskPrefix = this.topologyInformation.getSubtopologyId(store) + "_";
+        final File[] taskDirs = appDir.listFiles(file -> file.isDirectory() && file.getName().startsWith(taskPrefix));
+        if (taskDirs == null) {
+            log.info("No local state found for store {} in {}", store, appDir);
+            return;
         }
+        final String changelogTopic = this.topologyInformation.getChangelogTopic(store);
+        for (final File taskDir : taskDirs) {
+            try {
+                Utils.delete(new File(new File(taskDir, ROCKSDB_DIR), store));
+                Utils.delete(new File(taskDir, store));
+                removeCheckpoints(new File(taskDir, CHECKPOINT_FILE_NAME), changelogTopic);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to delete local state of store " + store + " in " + taskDir, e);
+            }
+            log.info("Deleted local state of store {} in {}", store, taskDir);
+        }
+    }
+
+    private static void removeCheckpoints(final File checkpointFile, final String changelogTopic) throws IOException {
+        if (!checkpointFile.exists()) {
+            return;
+        }
+        final OffsetCheckpoint checkpoint = new OffsetCheckpoint(checkpointFile);
+        final Map<TopicPartition, Long> offsets = new HashMap<>(checkpoint.read());
+        offsets.keySet().removeIf(partition -> partition.topic().equals(changelogTopic));
+        checkpoint.write(offsets);
+    }
+
+    private DeletionWaiter createDeletionWaiter() {
+        return DeletionWaiter.builder()
+                .topicClient(this.adminClient.getTopicClient())
+                .consumerGroupClient(this.adminClient.getConsumerGroupClient())
+                .timeout(this.timeout)
+                .build();
     }
 
     public void deleteTopics() {
         final SchemaTopicClient schemaTopicClient = this.adminClient.getSchemaTopicClient();
         final List<String> externalTopics = this.topologyInformation.getExternalSinkTopics();
-        externalTopics.forEach(schemaTopicClient::deleteTopicAndResetSchemaRegistry);
+        schemaTopicClient.deleteTopicsAndResetSchemaRegistry(externalTopics);
     }
 
     private void deleteConsumerGroup() {
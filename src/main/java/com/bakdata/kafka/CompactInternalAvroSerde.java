@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.FingerprintSchemaStore;
+import com.bakdata.kafka.util.TopicSchemaStore;
+import com.google.common.base.Preconditions;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.avro.Schema;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
+import org.apache.kafka.streams.StreamsConfig;
+
+/**
+ * Serde for specific Avro records that writes values of internal topics without the schema registry. Values of
+ * internal topics are written using Avro's single-object encoding, i.e., a 10-byte header containing the 64-bit
+ * parsing fingerprint of the writer schema followed by the Avro binary encoding.
+ * <p>
+ * Writer schemas are registered by fingerprint in a {@link FingerprintSchemaStore}, which defaults to the compacted
+ * topic configured with {@link #SCHEMA_TOPIC_CONFIG}. When reading, the writer schema is resolved by its fingerprint,
+ * the record class is derived from its full name, and records are resolved against the schema of the local record
+ * class. Compatible schema changes, e.g., adding a field with a default, therefore work for changelog restores and
+ * rolling deployments. Each writer schema is written to and read from the topic only once per JVM.
+ * <p>
+ * Keys and values of all other topics are serialized by the serde configured with
+ * {@link #DELEGATE_SERDE_CLASS_CONFIG}, which defaults to {@link SpecificAvroSerde}. Keys always use the delegate so
+ * that repartition topics stay co-partitioned with external topics. Records written by the delegate are read by the
+ * delegate, so the compact format can be enabled for existing applications.
+ * <p>
+ * Internal topics are configured with {@link #INTERNAL_TOPICS_CONFIG}. If not configured, repartition and changelog
+ * topics prefixed with the application id are considered internal.
+ *
+ * @param <T> type of records
+ */
+public class CompactInternalAvroSerde<T extends SpecificRecord> implements Serde<T> {
+    /**
+     * Comma-separated list of internal topics
+     */
+    public static final String INTERNAL_TOPICS_CONFIG = "compact.internal.serde.topics";
+    /**
+     * Serde used for keys and for values of non-internal topics
+     */
+    public static final String DELEGATE_SERDE_CLASS_CONFIG = "compact.internal.serde.delegate.class";
+    /**
+     * Compacted topic to save writer schemas to. Defaults to {@link #getSchemaTopic(String)}.
+     */
+    public static final String SCHEMA_TOPIC_CONFIG = "compact.internal.serde.schema.topic";
+    private static final String SCHEMA_TOPIC_SUFFIX = "-compact-schemas";
+    private static final byte[] HEADER = {(byte) 0xC3, (byte) 0x01};
+    private static final int HEADER_LENGTH = HEADER.length + Long.BYTES;
+    private static final String CHANGELOG_SUFFIX = "-changelog";
+    private static final String REPARTITION_SUFFIX = "-repartition";
+    private final Map<Class<?>, BinaryMessageEncoder<T>> encoders = new ConcurrentHashMap<>();
+    private final Map<Long, BinaryMessageDecoder<T>> decoders = new ConcurrentHashMap<>();
+    private FingerprintSchemaStore schemaStore;
+    private Serde<T> delegate;
+    private boolean isKey;
+    private String applicationId;
+    private Set<String> internalTopics;
+    private Serializer<T> serializer;
+    private Deserializer<T> deserializer;
+
+    /**
+     * Create a serde that saves writer schemas to the topic configured with {@link #SCHEMA_TOPIC_CONFIG}.
+     */
+    public CompactInternalAvroSerde() {
+        this(null);
+    }
+
+    /**
+     * Create a serde that saves writer schemas to the specified store.
+     *
+     * @param schemaStore store to register and resolve writer schemas
+     */
+    public CompactInternalAvroSerde(final FingerprintSchemaStore schemaStore) {
+        this.schemaStore = schemaStore;
+    }
+
+    /**
+     * Get the default topic to save writer schemas of an application to.
+     *
+     * @param applicationId id of the streams application
+     * @return name of the schema topic
+     */
+    public static String getSchemaTopic(final String applicationId) {
+        return applicationId + SCHEMA_TOPIC_SUFFIX;
+    }
+
+    private static boolean isSingleObject(final byte[] data) {
+        return data.length >= HEADER_LENGTH && data[0] == HEADER[0] && data[1] == HEADER[1];
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        this.delegate = this.createDelegate(configs);
+        this.delegate.configure(configs, isKey);
+        this.isKey = isKey;
+        this.applicationId = (String) configs.get(StreamsConfig.APPLICATION_ID_CONFIG);
+        final Object topics = configs.get(INTERNAL_TOPICS_CONFIG);
+        this.internalTopics = topics == null ? null : Arrays.stream(topics.toString().split(","))
+                .map(String::trim)
+                .filter(topic -> !topic.isEmpty())
+                .collect(Collectors.toSet());
+        if (this.schemaStore == null && !isKey) {
+            final Object schemaTopic = configs.get(SCHEMA_TOPIC_CONFIG);
+            Preconditions.checkArgument(schemaTopic != null || this.applicationId != null,
+                    "%s or %s must be specified", SCHEMA_TOPIC_CONFIG, StreamsConfig.APPLICATION_ID_CONFIG);
+            this.schemaStore = TopicSchemaStore.getShared(configs,
+                    schemaTopic == null ? getSchemaTopic(this.applicationId) : schemaTopic.toString());
+        }
+        this.serializer = this::serialize;
+        this.deserializer = this::deserialize;
+    }
+    @Override
+    public void close() {
+        if (this.delegate != null) {
+            this.delegate.close();
+        }
+    }
+
+    @Override
+    public Serializer<T> serializer() {
+        Preconditions.checkState(this.serializer != null, "Serde has not been configured");
+        return this.serializer;
+    }
+
+    @Override
+    public Deserializer<T> deserializer() {
+        Preconditions.checkState(this.deserializer != null, "Serde has not been configured");
+        return this.deserializer;
+    }
+
+    private Serde<T> createDelegate(final Map<String, ?> configs) {
+        final Object delegateClass = configs.get(DELEGATE_SERDE_CLASS_CONFIG);
+        if (delegateClass == null) {
+            return new SpecificAvroSerde<>();
+        }
+        try {
+            final Class<?> serdeClass = delegateClass instanceof Class ? (Class<?>) delegateClass
+                    : Class.forName(delegateClass.toString(), true, Utils.getContextOrKafkaClassLoader());
+            return (Serde<T>) Utils.newInstance(serdeClass);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalArgumentException("Delegate serde class " + delegateClass + " is not available", e);
+        }
+    }
+
+    private boolean isInternal(final String topic) {
+        if (this.isKey || topic == null) {
+            return false;
+        }
+        if (this.internalTopics != null) {
+            return this.internalTopics.contains(topic);
+        }
+        return this.applicationId != null && topic.startsWith(this.applicationId + "-")
+                && (topic.endsWith(CHANGELOG_SUFFIX) || topic.endsWith(REPARTITION_SUFFIX));
+    }
+
+    private byte[] serialize(final String topic, final T data) {
+        if (data == null) {
+            return null;
+        }
+        if (!this.isInternal(topic)) {
+            return this.delegate.serializer().serialize(topic, data);
+        }
+        final BinaryMessageEncoder<T> encoder = this.getEncoder(data.getClass());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            encoder.encode(data, out);
+        } catch (final IOException | RuntimeException e) {
+            throw new SerializationException("Error serializing Avro record for topic " + topic, e);
+        }
+        return out.toByteArray();
+    }
+
+    private T deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (this.isKey || !isSingleObject(data)) {
+            return this.delegate.deserializer().deserialize(topic, data);
+        }
+        final long fingerprint = ByteBuffer.wrap(data, HEADER.length, Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .getLong();
+        final BinaryMessageDecoder<T> decoder = this.getDecoder(fingerprint);
+        try {
+            return decoder.decode(data);
+        } catch (final IOException | RuntimeException e) {
+            throw new SerializationException("Error deserializing Avro record of topic " + topic, e);
+        }
+    }
+
+    // the schema store accesses Kafka, so encoders and decoders are not created within computeIfAbsent, which would
+    // block other threads serializing the same class while holding the lock of the map
+    private BinaryMessageEncoder<T> getEncoder(final Class<?> recordClass) {
+        final BinaryMessageEncoder<T> encoder = this.encoders.get(recordClass);
+        if (encoder != null) {
+            return encoder;
+        }
+        final BinaryMessageEncoder<T> created = this.createEncoder(recordClass);
+        final BinaryMessageEncoder<T> existing = this.encoders.putIfAbsent(recordClass, created);
+        return existing == null ? created : existing;
+    }
+
+    private BinaryMessageDecoder<T> getDecoder(final long fingerprint) {
+        final BinaryMessageDecoder<T> decoder = this.decoders.get(fingerprint);
+        if (decoder != null) {
+            return decoder;
+        }
+        final BinaryMessageDecoder<T> created = this.createDecoder(fingerprint);
+        final BinaryMessageDecoder<T> existing = this.decoders.putIfAbsent(fingerprint, created);
+        return existing == null ? created : existing;
+    }
+
+    private BinaryMessageEncoder<T> createEncoder(final Class<?> recordClass) {
+        final Schema schema = SpecificData.get().getSchema(recordClass);
+        this.schemaStore.register(schema);
+        return new BinaryMessageEncoder<>(SpecificData.get(), schema);
+    }
+
+    private BinaryMessageDecoder<T> createDecoder(final long fingerprint) {
+        final Schema writerSchema = this.schemaStore.findByFingerprint(fingerprint);
+        if (writerSchema == null) {
+            throw new SerializationException("Unknown writer schema with fingerprint " + Long.toHexString(fingerprint));
+        }
+        final Class<?> recordClass = SpecificData.get().getClass(writerSchema);
+        if (recordClass == null) {
+            throw new SerializationException("Record class " + writerSchema.getFullName() + " is not available");
+        }
+        final Schema readerSchema = SpecificData.get().getSchema(recordClass);
+        return new BinaryMessageDecoder<>(SpecificData.get(), readerSchema, this.schemaStore);
+    }
+}
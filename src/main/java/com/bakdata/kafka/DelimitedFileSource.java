@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.FileChunks.Chunk;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * {@link SplittableSource} that reads a delimited text file, e.g., CSV or JSON lines. The file is split into chunks
+ * at record delimiters and each chunk is memory-mapped and parsed by a separate shard. Empty records are skipped and a
+ * carriage return preceding a line feed delimiter is removed. Use {@link #checkpointed()} to resume ingestion from a
+ * checkpoint.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+@Builder
+public final class DelimitedFileSource<K, V> implements SplittableSource<K, V> {
+    public static final long DEFAULT_CHECKPOINT_CHUNK_SIZE = 64L << 20;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private final @NonNull Path file;
+    /**
+     * Parser converting a single record of the file to a record to send
+     */
+    private final @NonNull Function<String, ProducerRecord<K, V>> parser;
+    @Builder.Default
+    private final byte delimiter = LINE_FEED;
+    @Builder.Default
+    private final @NonNull Charset charset = StandardCharsets.UTF_8;
+    /**
+     * Size in bytes of the chunks a checkpointed view of this source is split into. Defaults to 64MiB
+     */
+    @Builder.Default
+    private final long checkpointChunkSize = DEFAULT_CHECKPOINT_CHUNK_SIZE;
+
+    @Override
+    public List<RecordShard<K, V>> split(final int parallelism) {
+        return this.splitChunks(parallelism).stream()
+                .map(chunk -> (RecordShard<K, V>) sink ->
+                        this.generate(chunk, chunk.getStart(), (record, position) -> sink.send(record)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a view of this source that can be resumed from a checkpoint. The position of a shard is the offset in the
+     * file after the last record. The file is split into chunks of {@link #checkpointChunkSize} bytes independent of
+     * the parallelism and shard ids are derived from the file and the start of the chunk. Therefore, the parallelism
+     * may change between restarts but neither the file nor the chunk size must.
+     *
+     * @return checkpointed view of this source
+     */
+    public CheckpointedSource<K, V> checkpointed() {
+        return parallelism -> this.splitChunksBySize().stream()
+                .map(this::createCheckpointedShard)
+                .collect(Collectors.toList());
+    }
+
+    private CheckpointedShard<K, V> createCheckpointedShard(final Chunk chunk) {
+        final String id = this.file + ":" + chunk.getStart();
+        return new CheckpointedShard<>() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public long getInitialPosition() {
+                return chunk.getStart();
+            }
+
+            @Override
+            public void generate(final long position, final CheckpointedSink<K, V> sink) throws IOException {
+                DelimitedFileSource.this.generate(chunk, position, sink);
+            }
+        };
+    }
+
+    private List<Chunk> splitChunks(final int parallelism) {
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            return FileChunks.split(channel, this.delimiter, parallelism);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to split file " + this.file, e);
+        }
+    }
+
+    private List<Chunk> splitChunksBySize() {
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            return FileChunks.splitBySize(channel, this.delimiter, this.checkpointChunkSize);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to split file " + this.file, e);
+        }
+    }
+
+    private void generate(final Chunk chunk, final long position, final CheckpointedSink<K, V> sink)
+            throws IOException {
+        final long start = Math.max(chunk.getStart(), position);
+        if (start >= chunk.getEnd()) {
+            return;
+        }
+        final MappedByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            buffer = channel.map(MapMode.READ_ONLY, start, chunk.getEnd() - start);
+        }
+        int recordStart = 0;
+        final int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == this.delimiter) {
+                this.emit(buffer, recordStart, i, start + i + 1L, sink);
+                recordStart = i + 1;
+            }
+        }
+        this.emit(buffer, recordStart, limit, chunk.getEnd(), sink);
+    }
+
+    private void emit(final MappedByteBuffer buffer, final int start, final int end, final long nextPosition,
+            final CheckpointedSink<K, V> sink) {
+        int recordEnd = end;
+        if (this.delimiter == LINE_FEED && recordEnd > start && buffer.get(recordEnd - 1) == CARRIAGE_RETURN) {
+            recordEnd--;
+        }
+        if (recordEnd <= start) {
+            return;
+        }
+        final String value = this.charset.decode(buffer.duplicate().position(start).limit(recordEnd)).toString();
+        sink.send(this.parser.apply(value), nextPosition);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.PropertiesFiles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link CheckpointStore} that saves positions to a local properties file. The file is replaced atomically on each
+ * save. Place the file on a persistent volume so that it survives restarts of the job.
+ */
+@RequiredArgsConstructor
+public final class FileCheckpointStore implements CheckpointStore {
+    private final @NonNull Path file;
+
+    @Override
+    public Map<String, Long> load() {
+        final Map<String, Long> positions = new HashMap<>();
+        this.read().forEach((id, position) -> positions.put((String) id, Long.valueOf((String) position)));
+        return positions;
+    }
+
+    @Override
+    public void save(final Map<String, Long> positions) {
+        final Properties properties = this.read();
+        positions.forEach((id, position) -> properties.setProperty(id, Long.toString(position)));
+        try {
+            PropertiesFiles.storeAtomically(this.file, properties);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to save checkpoint to " + this.file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    private Properties read() {
+        final Properties properties = new Properties();
+        if (!Files.exists(this.file)) {
+            return properties;
+        }
+        try (final InputStream in = Files.newInputStream(this.file)) {
+            properties.load(in);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to load checkpoint from " + this.file, e);
+        }
+        return properties;
+    }
+}
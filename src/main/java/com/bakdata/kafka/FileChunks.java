@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Splits files into chunks of roughly equal size.
+ */
+final class FileChunks {
+    /**
+     * Maximum size of a chunk so that it can be memory-mapped with a single buffer
+     */
+    static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private FileChunks() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Split a file into chunks of equal size. Chunks are not aligned to record boundaries.
+     *
+     * @param size size of the file
+     * @param parallelism desired number of chunks
+     * @return chunks covering the file
+     */
+    static List<Chunk> split(final long size, final int parallelism) {
+        final int count = (int) Math.max(parallelism, (size + MAX_CHUNK_SIZE - 1L) / MAX_CHUNK_SIZE);
+        final List<Chunk> chunks = new ArrayList<>();
+        long start = 0L;
+        for (int i = 1; i <= count && start < size; i++) {
+            final long end = i == count ? size : size * i / count;
+            if (end > start) {
+                chunks.add(new Chunk(start, end));
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Split a file into chunks of roughly equal size that end right after a delimiter.
+     *
+     * @param channel channel of the file
+     * @param delimiter byte separating records
+     * @param parallelism desired number of chunks
+     * @return chunks covering the file
+     * @throws IOException if the file cannot be read
+     */
+    static List<Chunk> split(final FileChannel channel, final byte delimiter, final int parallelism)
+            throws IOException {
+        final long size = channel.size();
+        final List<Chunk> chunks = new ArrayList<>();
+        long start = 0L;
+        for (final Chunk chunk : split(size, parallelism)) {
+            if (chunk.getEnd() <= start) {
+                continue;
+            }
+            final long end = chunk.getEnd() == size ? size : findDelimiter(channel, delimiter, chunk.getEnd());
+            chunks.add(new Chunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Split a file into chunks of roughly the specified size that end right after a delimiter. Chunk boundaries only
+     * depend on the file and the chunk size.
+     *
+     * @param channel channel of the file
+     * @param delimiter byte separating records
+     * @param chunkSize desired size of chunks in bytes
+     * @return chunks covering the file
+     * @throws IOException if the file cannot be read
+     */
+    static List<Chunk> splitBySize(final FileChannel channel, final byte delimiter, final long chunkSize)
+            throws IOException {
+        if (chunkSize <= 0L) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        final long count = (channel.size() + chunkSize - 1L) / chunkSize;
+        return split(channel, delimiter, (int) Math.max(1L, count));
+    }
+
+    private static long findDelimiter(final FileChannel channel, final byte delimiter, final long position)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = position;
+        while (true) {
+            buffer.clear();
+            final int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == delimiter) {
+                    return offset + i + 1L;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    @Value
+    static class Chunk {
+        long start;
+        long end;
+    }
+}
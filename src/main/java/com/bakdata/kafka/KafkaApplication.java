@@ -24,8 +24,15 @@
 
 package com.bakdata.kafka;
 
+import com.bakdata.kafka.util.CompressionCalibration;
+import com.bakdata.kafka.util.CompressionCalibration.CompressionObjective;
+import com.bakdata.kafka.util.CompressionCalibrator;
 import com.bakdata.kafka.util.ImprovedAdminClient;
+import com.bakdata.kafka.util.TopicProvisioner;
+import com.bakdata.kafka.util.TopicSampler;
+import com.bakdata.kafka.util.TopicSpec;
 import com.google.common.base.Preconditions;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,6 +43,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.record.SimpleRecord;
 import picocli.CommandLine;
 
 /**
@@ -46,11 +55,18 @@ import picocli.CommandLine;
  * options.
  */
 @Data
+@Slf4j
 public abstract class KafkaApplication implements Runnable {
+    /**
+     * @deprecated clean up waits until deletion is complete. Use {@link #cleanUpTimeout} to limit the waiting time.
+     */
+    @Deprecated
     public static final int RESET_SLEEP_MS = 5000;
+    public static final Duration DEFAULT_CLEAN_UP_TIMEOUT = Duration.ofMinutes(1L);
     private static final String ENV_PREFIX = Optional.ofNullable(
             System.getenv("ENV_PREFIX")).orElse("APP_");
     public static final Duration ADMIN_TIMEOUT = Duration.ofSeconds(10L);
+    public static final int DEFAULT_COMPRESSION_SAMPLES = 1000;
     @CommandLine.Option(names = "--output-topic", description = "Output topic")
     protected String outputTopic = "";
     @CommandLine.Option(names = "--extra-output-topics", split = ",", description = "Additional output topics")
@@ -64,6 +80,48 @@ public abstract class KafkaApplication implements Runnable {
                     + "consumer group. Be careful with running in production and with enabling this flag - it "
                     + "might cause inconsistent processing with multiple replicas.")
     protected boolean cleanUp = false;
+    @CommandLine.Option(names = "--clean-up-timeout",
+            description = "Maximum time to wait for topics and consumer groups to be deleted during the clean up as "
+                    + "ISO-8601 duration (default: ${DEFAULT-VALUE})")
+    protected Duration cleanUpTimeout = DEFAULT_CLEAN_UP_TIMEOUT;
+    @CommandLine.Option(names = "--performance-profile",
+            description = "Bundle of Kafka configurations optimized for a goal. Valid values: ${COMPLETION-CANDIDATES} "
+                    + "(default: ${DEFAULT-VALUE})")
+    protected PerformanceProfile performanceProfile = PerformanceProfile.EXACTLY_ONCE;
+    @CommandLine.Option(names = "--calibrate-compression", arity = "0..1",
+            description = "Sample records on startup, benchmark compression codecs on them, and use the codec that "
+                    + "is best for the compression objective.")
+    protected boolean calibrateCompression = false;
+    @CommandLine.Option(names = "--compression-samples",
+            description = "Number of records sampled for compression calibration (default: ${DEFAULT-VALUE})")
+    protected int compressionSamples = DEFAULT_COMPRESSION_SAMPLES;
+    @CommandLine.Option(names = "--compression-objective",
+            description = "Objective of compression calibration. Valid values: ${COMPLETION-CANDIDATES} (default: "
+                    + "${DEFAULT-VALUE})")
+    protected CompressionObjective compressionObjective = CompressionObjective.BALANCED;
+    @CommandLine.Option(names = "--provision-output-topics", arity = "0..1",
+            description = "Create output topics and update their configuration according to the output topic options "
+                    + "on startup.")
+    protected boolean provisionOutputTopics = false;
+    @CommandLine.Option(names = "--output-topic-partitions",
+            description = "Number of partitions of output topics (default: maximum of input topics or broker default)")
+    protected Integer outputTopicPartitions;
+    @CommandLine.Option(names = "--output-topic-replication-factor",
+            description = "Replication factor of output topics (default: maximum of input topics or broker default)")
+    protected Short outputTopicReplicationFactor;
+    @CommandLine.Option(names = "--output-topic-retention",
+            description = "Retention time of output topics as ISO-8601 duration")
+    protected Duration outputTopicRetention;
+    @CommandLine.Option(names = "--output-topic-compacted", arity = "0..1",
+            description = "Whether output topics should be compacted")
+    protected Boolean outputTopicCompacted;
+    @CommandLine.Option(names = "--output-topic-segment-bytes",
+            description = "Size of log segments of output topics in bytes")
+    protected Long outputTopicSegmentBytes;
+    @CommandLine.Option(names = "--schema-cache-capacity",
+            description = "Maximum number of schemas cached per subject by schema registry clients (default: "
+                    + "${DEFAULT-VALUE})")
+    protected int schemaCacheCapacity = AbstractKafkaSchemaSerDeConfig.MAX_SCHEMAS_PER_SUBJECT_DEFAULT;
     @CommandLine.Option(names = "--schema-registry-url", required = true)
     private String schemaRegistryUrl = "";
     @CommandLine.Option(names = {"-h", "--help"}, usageHelp = true, description = "print this help and exit")
@@ -71,6 +129,10 @@ public abstract class KafkaApplication implements Runnable {
     //TODO change to more generic parameter name in the future. Retain old name for backwards compatibility
     @CommandLine.Option(names = "--streams-config", split = ",", description = "Additional Kafka properties")
     private Map<String, String> streamsConfig = new HashMap<>();
+    /**
+     * Result of compression calibration if it has been run
+     */
+    protected CompressionCalibration compressionCalibration;
 
     static String[] addEnvironmentVariablesArguments(final String[] args) {
         Preconditions.checkArgument(!ENV_PREFIX.equals(EnvironmentStreamsConfigParser.PREFIX),
@@ -112,6 +174,74 @@ public abstract class KafkaApplication implements Runnable {
         return topic;
     }
 
+    /**
+     * Create the specification of each output topic that is used if {@link #provisionOutputTopics} is enabled. By
+     * default, the output topic and all extra output topics share the specification configured via command line
+     * options. Override this method to specify topics individually.
+     *
+     * @return specification of each topic by topic name
+     */
+    protected Map<String, TopicSpec> createOutputTopicSpecs() {
+        final TopicSpec spec = TopicSpec.builder()
+                .partitions(this.outputTopicPartitions)
+                .replicationFactor(this.outputTopicReplicationFactor)
+                .retention(this.outputTopicRetention)
+                .compacted(this.outputTopicCompacted)
+                .segmentBytes(this.outputTopicSegmentBytes)
+                .build();
+        final Map<String, TopicSpec> specs = new HashMap<>();
+        if (!this.outputTopic.isBlank()) {
+            specs.put(this.outputTopic, spec);
+        }
+        this.extraOutputTopics.values().forEach(topic -> specs.put(topic, spec));
+        return specs;
+    }
+
+    /**
+     * Provision all output topics according to {@link #createOutputTopicSpecs()}.
+     *
+     * @param inputTopics input topics to derive unspecified partitions and replication factors from
+     * @see TopicProvisioner
+     */
+    protected void runProvisioning(final Collection<String> inputTopics) {
+        try (final ImprovedAdminClient adminClient = this.createAdminClient()) {
+            TopicProvisioner.builder()
+                    .topicClient(adminClient.getTopicClient())
+                    .build()
+                    .provision(this.createOutputTopicSpecs(), inputTopics);
+        }
+    }
+
+    /**
+     * Sample records of topics and benchmark compression codecs on them. The codec that is best for
+     * {@link #compressionObjective} is stored in {@link #compressionCalibration}. Nothing is changed if the topics do
+     * not contain any records.
+     *
+     * @param topics topics to sample records from
+     * @see CompressionCalibrator
+     */
+    protected void runCompressionCalibration(final Collection<String> topics) {
+        final List<SimpleRecord> records;
+        try (final TopicSampler sampler = TopicSampler.create(this.getKafkaProperties(), ADMIN_TIMEOUT)) {
+            records = sampler.sample(topics, this.compressionSamples);
+        }
+        if (records.isEmpty()) {
+            log.warn("Skipping compression calibration because topics {} do not contain records", topics);
+            return;
+        }
+        final CompressionCalibration calibration = CompressionCalibrator.builder()
+                .objective(this.compressionObjective)
+                .build()
+                .calibrate(records);
+        calibration.getMeasurements().forEach(measurement -> log.info(
+                "Compression codec {}: ratio {}, {} MB/s", measurement.getCompressionType(),
+                String.format("%.2f", measurement.getRatio()),
+                String.format("%.1f", measurement.getBytesPerSecond() / 1.0e6)));
+        log.info("Using compression codec {} for objective {} based on {} sampled records",
+                calibration.getCompressionType(), calibration.getObjective(), records.size());
+        this.compressionCalibration = calibration;
+    }
+
     public ImprovedAdminClient createAdminClient() {
         return ImprovedAdminClient.builder()
                 .properties(this.createKafkaProperties())
@@ -24,15 +24,30 @@
 
 package com.bakdata.kafka;
 
+import com.bakdata.kafka.util.DeletionWaiter;
 import com.bakdata.kafka.util.ImprovedAdminClient;
 import com.bakdata.kafka.util.SchemaTopicClient;
+import com.bakdata.kafka.util.TopicProvisioner;
+import com.bakdata.kafka.util.TopicSpec;
+import com.google.common.base.Preconditions;
 import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
 import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerializer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.function.Function;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.log4j.Level;
 import org.jooq.lambda.Seq;
 import picocli.CommandLine;
@@ -49,12 +64,43 @@ import picocli.CommandLine;
 @Data
 @Slf4j
 public abstract class KafkaProducerApplication extends KafkaApplication {
+    public static final Duration DEFAULT_CHECKPOINT_INTERVAL = Duration.ofSeconds(10L);
     /**
      * This variable is usually set on application start. When the application is running in debug mode it is used to
      * reconfigure the child app package logger. On default it points to the package of this class allowing to execute
      * the run method independently.
      */
     private static String appPackageName = KafkaProducerApplication.class.getPackageName();
+    @CommandLine.Option(names = "--max-in-flight-records",
+            description = "Maximum number of unacknowledged records of managed producers (default: ${DEFAULT-VALUE})")
+    private int maxInFlightRecords = ManagedProducer.DEFAULT_MAX_IN_FLIGHT;
+    @CommandLine.Option(names = "--producer-close-timeout",
+            description = "Maximum time to wait for acknowledgements when closing managed producers as ISO-8601 "
+                    + "duration (default: ${DEFAULT-VALUE})")
+    private Duration producerCloseTimeout = ManagedProducer.DEFAULT_CLOSE_TIMEOUT;
+    @CommandLine.Option(names = "--parallelism",
+            description = "Number of workers generating and sending records of splittable sources (default: number of "
+                    + "processors)")
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    @CommandLine.Option(names = "--producer-mode",
+            description = "Whether workers share a producer or use one producer each. Valid values: "
+                    + "${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+    private ProducerMode producerMode = ProducerMode.SHARED;
+    @CommandLine.Option(names = "--input-files", split = ",",
+            description = "Files to ingest with the file ingestion methods")
+    private List<Path> inputFiles = new ArrayList<>();
+    @CommandLine.Option(names = "--checkpoint-topic",
+            description = "Compacted topic to save the progress of checkpointed sources to. Created if it does not "
+                    + "exist.")
+    private String checkpointTopic;
+    @CommandLine.Option(names = "--checkpoint-file",
+            description = "Local file to save the progress of checkpointed sources to if no checkpoint topic is "
+                    + "configured")
+    private Path checkpointFile;
+    @CommandLine.Option(names = "--checkpoint-interval",
+            description = "Interval in which the progress of checkpointed sources is saved as ISO-8601 duration "
+                    + "(default: ${DEFAULT-VALUE})")
+    private Duration checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
 
     /**
      * <p>This methods needs to be called in the executable custom application class inheriting from
@@ -81,6 +127,13 @@ public abstract class KafkaProducerApplication extends KafkaApplication {
         if (this.cleanUp) {
             this.runCleanUp();
         } else {
+            if (this.provisionOutputTopics) {
+                this.runProvisioning(List.of());
+            }
+            if (this.calibrateCompression) {
+                this.runCompressionCalibration(this.getAllOutputTopics());
+            }
+            this.performanceProfile.validateProducer(this.getKafkaProperties());
             this.runApplication();
         }
     }
@@ -107,14 +160,15 @@ public abstract class KafkaProducerApplication extends KafkaApplication {
 
         kafkaConfig.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, SpecificAvroSerializer.class);
         kafkaConfig.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, SpecificAvroSerializer.class);
-        // exactly once and order
-        kafkaConfig.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
-        kafkaConfig.setProperty(ProducerConfig.ACKS_CONFIG, "all");
-
-        // compression
-        kafkaConfig.setProperty(ProducerConfig.COMPRESSION_TYPE_CONFIG, "gzip");
+        // delivery guarantee, order, and compression
+        this.performanceProfile.configureProducer(kafkaConfig);
+        if (this.compressionCalibration != null) {
+            kafkaConfig.setProperty(ProducerConfig.COMPRESSION_TYPE_CONFIG,
+                    this.compressionCalibration.getCompressionType().name);
+        }
 
         kafkaConfig.setProperty(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, this.getSchemaRegistryUrl());
+        kafkaConfig.put(AbstractKafkaSchemaSerDeConfig.MAX_SCHEMAS_PER_SUBJECT_CONFIG, this.schemaCacheCapacity);
         kafkaConfig.setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.brokers);
         return kafkaConfig;
     }
@@ -125,29 +179,190 @@ public abstract class KafkaProducerApplication extends KafkaApplication {
         return new KafkaProducer<>(properties);
     }
 
+    /**
+     * Create a {@link ManagedProducer} that pipelines sends, bounds the number of in-flight records, and aggregates
+     * failures. Close it to wait for all records to be acknowledged.
+     *
+     * @param <K> type of keys
+     * @param <V> type of values
+     * @return managed producer using {@link #createProducer()}
+     */
+    protected <K, V> ManagedProducer<K, V> createManagedProducer() {
+        return ManagedProducer.<K, V>builder()
+                .producer(this.createProducer())
+                .maxInFlight(this.maxInFlightRecords)
+                .closeTimeout(this.producerCloseTimeout)
+                .build();
+    }
+
+    /**
+     * Generate and send all records of a source in parallel using {@link #parallelism} workers. Call this method from
+     * {@link #runApplication()}.
+     *
+     * @param source source of records
+     * @param <K> type of keys
+     * @param <V> type of values
+     * @see ParallelProducerRunner
+     */
+    protected <K, V> void runParallel(final SplittableSource<K, V> source) {
+        ParallelProducerRunner.<K, V>builder()
+                .producerFactory(this::createManagedProducer)
+                .parallelism(this.parallelism)
+                .producerMode(this.producerMode)
+                .build()
+                .run(source);
+    }
+
+    /**
+     * Generate and send all records of a source in parallel using {@link #parallelism} workers and resume from the
+     * last checkpoint. Progress is saved to {@link #checkpointTopic} or, if not set, to {@link #checkpointFile}. Call
+     * this method from {@link #runApplication()}. Use an idempotent producer so that retries do not create duplicates.
+     * Records sent after the last checkpoint are sent again on restart.
+     *
+     * @param source source of records
+     * @param <K> type of keys
+     * @param <V> type of values
+     * @throws IllegalStateException if neither a checkpoint topic nor a checkpoint file is configured
+     * @see ParallelProducerRunner#run(CheckpointedSource, CheckpointStore, Duration)
+     */
+    protected <K, V> void runCheckpointed(final CheckpointedSource<K, V> source) {
+        try (final CheckpointStore store = this.createCheckpointStore()) {
+            ParallelProducerRunner.<K, V>builder()
+                    .producerFactory(this::createManagedProducer)
+                    .parallelism(this.parallelism)
+                    .producerMode(this.producerMode)
+                    .build()
+                    .run(source, store, this.checkpointInterval);
+        }
+    }
+
+    /**
+     * Create the store to save the progress of checkpointed sources to. The checkpoint topic is created with a single
+     * partition and the replication factor of the output topics if it does not exist. If no output topic exists, the
+     * default replication factor of the broker is used.
+     *
+     * @return store saving progress to {@link #checkpointTopic} or {@link #checkpointFile}
+     * @throws IllegalStateException if neither a checkpoint topic nor a checkpoint file is configured
+     */
+    protected CheckpointStore createCheckpointStore() {
+        if (this.checkpointTopic != null) {
+            try (final ImprovedAdminClient adminClient = this.createAdminClient()) {
+                final TopicSpec spec = TopicSpec.builder()
+                        .partitions(1)
+                        .compacted(true)
+                        .build();
+                TopicProvisioner.builder()
+                        .topicClient(adminClient.getTopicClient())
+                        .build()
+                        .provision(Map.of(this.checkpointTopic, spec), this.getAllOutputTopics());
+            }
+            return TopicCheckpointStore.create(this.getKafkaProperties(), this.checkpointTopic, ADMIN_TIMEOUT);
+        }
+        Preconditions.checkState(this.checkpointFile != null, "Checkpointing requires a checkpoint topic or file");
+        return new FileCheckpointStore(this.checkpointFile);
+    }
+
+    private boolean isCheckpointing() {
+        return this.checkpointTopic != null || this.checkpointFile != null;
+    }
+
+    /**
+     * Ingest all {@link #inputFiles} as delimited text files, e.g., CSV or JSON lines with one record per line. The
+     * files are memory-mapped, split at line boundaries, and parsed in parallel. If a checkpoint topic or file is
+     * configured, ingestion resumes from the last checkpoint. Call this method from {@link #runApplication()}.
+     *
+     * @param parser parser converting a single line to a record to send
+     * @param <K> type of keys
+     * @param <V> type of values
+     * @see DelimitedFileSource
+     */
+    protected <K, V> void ingestDelimitedFiles(final Function<String, ProducerRecord<K, V>> parser) {
+        final List<DelimitedFileSource<K, V>> sources = Seq.seq(this.inputFiles)
+                .map(file -> DelimitedFileSource.<K, V>builder()
+                        .file(file)
+                        .parser(parser)
+                        .build())
+                .toList();
+        if (this.isCheckpointing()) {
+            final List<CheckpointedSource<K, V>> checkpointedSources = Seq.seq(sources)
+                    .map(DelimitedFileSource::checkpointed)
+                    .toList();
+            final CheckpointedSource<K, V> source = parallelism -> Seq.seq(checkpointedSources)
+                    .flatMap(checkpointedSource -> checkpointedSource.split(parallelism).stream())
+                    .toList();
+            this.runCheckpointed(source);
+        } else {
+            this.runParallel(concat(sources));
+        }
+    }
+
+    /**
+     * Ingest all {@link #inputFiles} as Avro container files. The files are memory-mapped, split at block
+     * boundaries, and read in parallel. Call this method from {@link #runApplication()}.
+     *
+     * @param mapper mapper converting a single Avro record to a record to send
+     * @param <K> type of keys
+     * @param <V> type of values
+     * @see AvroFileSource
+     */
+    protected <K, V> void ingestAvroFiles(final Function<GenericRecord, ProducerRecord<K, V>> mapper) {
+        final List<SplittableSource<K, V>> sources = Seq.seq(this.inputFiles)
+                .<SplittableSource<K, V>>map(file -> AvroFileSource.<K, V>builder()
+                        .file(file)
+                        .mapper(mapper)
+                        .build())
+                .toList();
+        this.runParallel(concat(sources));
+    }
+
+    private static <K, V> SplittableSource<K, V> concat(final List<? extends SplittableSource<K, V>> sources) {
+        return parallelism -> Seq.seq(sources)
+                .flatMap(source -> source.split(parallelism).stream())
+                .toList();
+    }
+
     /**
      * This methods deletes all output topics.
      */
     protected void runCleanUp() {
         try (final ImprovedAdminClient improvedAdminClient = this.createAdminClient()) {
             this.cleanUpRun(improvedAdminClient.getSchemaTopicClient());
+            this.cleanUpCheckpoints(improvedAdminClient);
         }
     }
 
+    /**
+     * Delete all output topics and their schemas and wait until the topics are no longer visible in the cluster.
+     *
+     * @param schemaTopicClient client used to delete the topics and schemas
+     */
     protected void cleanUpRun(final SchemaTopicClient schemaTopicClient) {
-        final Iterable<String> outputTopics = this.getAllOutputTopics();
-
-        outputTopics.forEach(schemaTopicClient::deleteTopicAndResetSchemaRegistry);
-        try {
-            Thread.sleep(RESET_SLEEP_MS);
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Error waiting for clean up", e);
+        final List<String> outputTopics = this.getAllOutputTopics();
+
+        schemaTopicClient.deleteTopicsAndResetSchemaRegistry(outputTopics);
+        DeletionWaiter.builder()
+                .topicClient(schemaTopicClient.getTopicClient())
+                .timeout(this.cleanUpTimeout)
+                .build()
+                .awaitTopicDeletion(outputTopics);
+    }
+
+    private void cleanUpCheckpoints(final ImprovedAdminClient adminClient) {
+        if (this.checkpointTopic != null) {
+            adminClient.getTopicClient().deleteTopicIfExists(this.checkpointTopic);
+        }
+        if (this.checkpointFile != null) {
+            try {
+                Files.deleteIfExists(this.checkpointFile);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to delete checkpoint file " + this.checkpointFile, e);
+            }
         }
     }
 
-    private Iterable<String> getAllOutputTopics() {
+    private List<String> getAllOutputTopics() {
         return Seq.of(this.getOutputTopic())
-                .concat(this.extraOutputTopics.values());
+                .concat(this.extraOutputTopics.values())
+                .toList();
     }
 }
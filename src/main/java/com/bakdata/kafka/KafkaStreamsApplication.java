@@ -24,11 +24,22 @@
 
 package com.bakdata.kafka;
 
+import com.bakdata.kafka.util.CachingSchemaRegistryClient;
 import com.bakdata.kafka.util.ImprovedAdminClient;
+import com.bakdata.kafka.util.TopicProvisioner;
+import com.bakdata.kafka.util.TopicSpec;
+import com.bakdata.kafka.util.TopologyInformation;
 import com.google.common.base.Preconditions;
 import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.streams.serdes.avro.GenericAvroSerializer;
 import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,7 +48,12 @@ import java.util.Optional;
 import java.util.Properties;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KafkaStreams.State;
 import org.apache.kafka.streams.KafkaStreams.StateListener;
@@ -59,6 +75,7 @@ import picocli.CommandLine;
 @Data
 @Slf4j
 public abstract class KafkaStreamsApplication extends KafkaApplication implements AutoCloseable {
+    private static final String SCHEMA_CACHE_FILE_NAME = "schema-cache.properties";
     /**
      * This variable is usually set on application start. When the application is running in debug mode it is used to
      * reconfigure the child app package logger. On default it points to the package of this class allowing to execute
@@ -76,6 +93,49 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
     @CommandLine.Option(names = "--delete-output", arity = "0..1",
             description = "Delete the output topic during the clean up.")
     private boolean deleteOutputTopic = false;
+    @CommandLine.Option(names = "--reset-timestamp",
+            description = "Reset input topics to this ISO-8601 timestamp during the clean up instead of to the "
+                    + "beginning, e.g., 2021-03-01T00:00:00Z")
+    private Instant resetTimestamp;
+    @CommandLine.Option(names = "--reset-duration",
+            description = "Reset input topics to the current time minus this ISO-8601 duration during the clean up "
+                    + "instead of to the beginning, e.g., PT24H")
+    private Duration resetDuration;
+    @CommandLine.Option(names = "--reset-state", arity = "0..1",
+            description = "Delete internal topics and local state when resetting input topics to a timestamp.")
+    private boolean resetState = false;
+    @CommandLine.Option(names = "--reset-stores", split = ",",
+            description = "Only reset the state of these stores during the clean up, i.e., their changelog and "
+                    + "repartition topics and their local state. Offsets of input topics are kept unless a reset "
+                    + "timestamp or duration is specified.")
+    private List<String> resetStores = new ArrayList<>();
+    @CommandLine.Option(names = "--preflight", arity = "0..1",
+            description = "Check that all source and sink topics exist and that co-partitioned topics have the same "
+                    + "number of partitions before starting the application.")
+    private boolean preflight = false;
+    @CommandLine.Option(names = "--persistent-schema-cache", arity = "0..1",
+            description = "Share one schema registry client among all default serdes and persist its schema cache to "
+                    + "the state directory, so that known schemas are available after restarts and during schema "
+                    + "registry outages.")
+    private boolean persistentSchemaCache = false;
+    @CommandLine.Option(names = "--shared-schema-cache", arity = "0..1",
+            description = "Share one schema registry client with a lock-free schema cache among all default serdes. "
+                    + "Implied by --persistent-schema-cache and --warm-up.")
+    private boolean sharedSchemaCache = false;
+    @CommandLine.Option(names = "--warm-up", arity = "0..1",
+            description = "Fetch the schemas of all source and sink topics and exercise the default serdes on "
+                    + "synthetic records before starting the application. Implies --shared-schema-cache, so that the "
+                    + "fetched schemas are available to the serdes of the application.")
+    private boolean warmUp = false;
+    @CommandLine.Option(names = "--warm-up-iterations",
+            description = "Number of times the serdes are exercised for each schema during the warm-up (default: "
+                    + "${DEFAULT-VALUE})")
+    private int warmUpIterations = WarmUpRunner.DEFAULT_ITERATIONS;
+    @CommandLine.Option(names = "--compact-internal-serde", arity = "0..1",
+            description = "Write values of internal repartition and changelog topics using Avro's single-object "
+                    + "encoding instead of the schema registry. Writer schemas are saved to the compacted topic "
+                    + "<application id>-compact-schemas.")
+    private boolean compactInternalSerde = false;
     private KafkaStreams streams;
 
     /**
@@ -102,8 +162,23 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
         log.debug(this.toString());
 
         try {
+            if (this.calibrateCompression && !this.cleanUp) {
+                this.runCompressionCalibration(this.getAllInputTopics());
+            }
             final var kafkaProperties = this.getKafkaProperties();
-            this.streams = new KafkaStreams(this.createTopology(), kafkaProperties);
+            if (this.persistentSchemaCache) {
+                kafkaProperties.setProperty(CachingSchemaRegistryClient.SCHEMA_CACHE_FILE_CONFIG,
+                        this.getSchemaCacheFile(kafkaProperties).getPath());
+            }
+            final Topology topology = this.createTopology();
+            if (this.compactInternalSerde) {
+                final List<String> internalTopics =
+                        new TopologyInformation(topology, this.getUniqueAppId()).getInternalTopics();
+                kafkaProperties.setProperty(CompactInternalAvroSerde.INTERNAL_TOPICS_CONFIG,
+                        String.join(",", internalTopics));
+            }
+            this.performanceProfile.validateStreams(kafkaProperties);
+            this.streams = new KafkaStreams(topology, kafkaProperties);
             Optional.ofNullable(this.getUncaughtExceptionHandler())
                     .ifPresent(this.streams::setUncaughtExceptionHandler);
             Optional.ofNullable(this.getStateListener())
@@ -112,6 +187,18 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
             if (this.cleanUp) {
                 this.runCleanUp();
             } else {
+                if (this.provisionOutputTopics) {
+                    this.runProvisioning(this.getAllInputTopics());
+                }
+                if (this.compactInternalSerde) {
+                    this.provisionCompactSchemaTopic();
+                }
+                if (this.preflight) {
+                    this.runPreflight();
+                }
+                if (this.warmUp) {
+                    this.runWarmUp(kafkaProperties);
+                }
                 this.runStreamsApplication();
             }
         } catch (final Throwable e) {
@@ -126,6 +213,10 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
         if (this.streams != null) {
             this.streams.close();
         }
+        if (this.persistentSchemaCache) {
+            // persist schemas added since the last periodic flush
+            CachingSchemaRegistryClient.flushShared();
+        }
         // close resources after streams because messages currently processed might depend on resources
         this.closeResources();
     }
@@ -151,6 +242,12 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
         return this.getInputTopics().get(0);
     }
 
+    private List<String> getAllInputTopics() {
+        final List<String> topics = new ArrayList<>(this.inputTopics);
+        topics.addAll(this.extraInputTopics.values());
+        return topics;
+    }
+
     /**
      * Get extra input topic for a specified role
      *
@@ -163,6 +260,45 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
         return topic;
     }
 
+    /**
+     * Create a value serde for sources that only need some top-level fields of Avro records. Only these fields are
+     * decoded, e.g., {@code builder.stream(topic, Consumed.with(keySerde, this.createProjectingSerde("id", "name")))}.
+     * Serialization is performed by {@link GenericAvroSerializer}. Deserialization fails if none of the fields is part
+     * of the writer schema.
+     *
+     * @param fields names of fields to decode
+     * @return configured value serde
+     * @see ProjectingAvroDeserializer
+     */
+    protected Serde<GenericRecord> createProjectingSerde(final String... fields) {
+        return this.createProjectingSerde(ProjectingAvroDeserializer.builder()
+                .fields(List.of(fields))
+                .build());
+    }
+
+    /**
+     * Create a value serde for sources that decodes Avro records using the specified reader schema. Fields of the
+     * writer schema that are not part of the reader schema are skipped.
+     *
+     * @param readerSchema schema to decode records with
+     * @return configured value serde
+     * @see ProjectingAvroDeserializer
+     */
+    protected Serde<GenericRecord> createProjectingSerde(final Schema readerSchema) {
+        return this.createProjectingSerde(ProjectingAvroDeserializer.builder()
+                .readerSchema(readerSchema)
+                .build());
+    }
+
+    private Serde<GenericRecord> createProjectingSerde(final ProjectingAvroDeserializer deserializer) {
+        final Map<String, Object> configs = new HashMap<>();
+        this.getKafkaProperties().forEach((key, value) -> configs.put(key.toString(), value));
+        final Serializer<GenericRecord> serializer = new GenericAvroSerializer();
+        serializer.configure(configs, false);
+        deserializer.configure(configs, false);
+        return Serdes.serdeFrom(serializer, deserializer);
+    }
+
     /**
      * Create an {@link UncaughtExceptionHandler} to use for Kafka Streams. Will not be configured if {@code null} is
      * returned.
@@ -193,25 +329,30 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
     protected Properties createKafkaProperties() {
         final Properties kafkaConfig = new Properties();
 
-        // exactly once and order
-        kafkaConfig.setProperty(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE);
-        kafkaConfig.put(StreamsConfig.producerPrefix(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION), 1);
+        // processing guarantee, order, and compression
+        this.performanceProfile.configureStreams(kafkaConfig);
+        if (this.compressionCalibration != null) {
+            kafkaConfig.setProperty(StreamsConfig.producerPrefix(ProducerConfig.COMPRESSION_TYPE_CONFIG),
+                    this.compressionCalibration.getCompressionType().name);
+        }
 
         // resilience
         if (this.productive) {
             kafkaConfig.put(StreamsConfig.REPLICATION_FACTOR_CONFIG, 3);
         }
 
-        kafkaConfig.setProperty(StreamsConfig.producerPrefix(ProducerConfig.ACKS_CONFIG), "all");
-
-        // compression
-        kafkaConfig.setProperty(StreamsConfig.producerPrefix(ProducerConfig.COMPRESSION_TYPE_CONFIG), "gzip");
-
         // topology
         kafkaConfig.put(StreamsConfig.APPLICATION_ID_CONFIG, this.getUniqueAppId());
-        kafkaConfig.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, SpecificAvroSerde.class);
-        kafkaConfig.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, SpecificAvroSerde.class);
+        final Class<?> serde = this.usesSharedSchemaCache() ? CachedSpecificAvroSerde.class : SpecificAvroSerde.class;
+        kafkaConfig.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, serde);
+        if (this.compactInternalSerde) {
+            kafkaConfig.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, CompactInternalAvroSerde.class);
+            kafkaConfig.put(CompactInternalAvroSerde.DELEGATE_SERDE_CLASS_CONFIG, serde);
+        } else {
+            kafkaConfig.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, serde);
+        }
         kafkaConfig.setProperty(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, this.getSchemaRegistryUrl());
+        kafkaConfig.put(AbstractKafkaSchemaSerDeConfig.MAX_SCHEMAS_PER_SUBJECT_CONFIG, this.schemaCacheCapacity);
         kafkaConfig.setProperty(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, this.getBrokers());
         return kafkaConfig;
     }
@@ -221,6 +362,44 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
         Runtime.getRuntime().addShutdownHook(new Thread(this::close));
     }
 
+    /**
+     * This method checks the topics of the application before it is started.
+     *
+     * @throws IllegalStateException if topics are missing or co-partitioned topics have different numbers of
+     * partitions
+     * @see PreflightRunner
+     */
+    protected void runPreflight() {
+        try (final ImprovedAdminClient adminClient = this.createAdminClient()) {
+            PreflightRunner.builder()
+                    .topology(this.createTopology())
+                    .appId(this.getUniqueAppId())
+                    .adminClient(adminClient)
+                    .build()
+                    .run();
+        }
+    }
+
+    /**
+     * This method warms up schema lookups and the default serdes before the application is started. The schemas are
+     * fetched with the schema registry client shared by the default serdes.
+     *
+     * @param kafkaProperties properties the application is started with
+     * @see WarmUpRunner
+     */
+    protected void runWarmUp(final Properties kafkaProperties) {
+        final Map<String, Object> configs = new HashMap<>();
+        kafkaProperties.forEach((key, value) -> configs.put(key.toString(), value));
+        WarmUpRunner.builder()
+                .topology(this.createTopology())
+                .appId(this.getUniqueAppId())
+                .kafkaProperties(kafkaProperties)
+                .schemaRegistryClient(CachingSchemaRegistryClient.getShared(configs))
+                .iterations(this.warmUpIterations)
+                .build()
+                .run();
+    }
+
     /**
      * Method to close resources outside of {@link KafkaStreams}. Will be called by default on {@link #close()} and on
      * transitioning to {@link State#ERROR}.
@@ -246,7 +425,9 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
 
     /**
      * This methods resets the offset for all input topics and deletes internal topics, application state, and
-     * optionally the output and error topic.
+     * optionally the output and error topic. If a reset timestamp or duration is specified, input topics are only reset
+     * to that point in time and state is only deleted if requested. If reset stores are specified, only the state of
+     * these stores is deleted.
      */
     @Override
     protected void runCleanUp() {
@@ -256,14 +437,97 @@ public abstract class KafkaStreamsApplication extends KafkaApplication implement
                     .appId(this.getUniqueAppId())
                     .adminClient(adminClient)
                     .streams(this.streams)
+                    .timeout(this.cleanUpTimeout)
                     .build();
 
             this.cleanUpRun(cleanUpRunner);
         }
+        if (this.persistentSchemaCache) {
+            // cached subjects might have been deleted
+            this.deleteSchemaCache();
+        }
         this.close();
     }
 
     protected void cleanUpRun(final CleanUpRunner cleanUpRunner) {
-        cleanUpRunner.run(this.deleteOutputTopic);
+        final Optional<Instant> timestamp = this.getResetTimestampOrDuration();
+        if (!this.resetStores.isEmpty()) {
+            Preconditions.checkArgument(!this.deleteOutputTopic && !this.resetState,
+                    "Output topics and the complete state cannot be deleted when resetting single stores");
+            timestamp.ifPresent(instant -> cleanUpRunner.resetToTimestamp(instant, false));
+            cleanUpRunner.resetStores(this.resetStores, this.getStateDir());
+        } else if (timestamp.isPresent()) {
+            Preconditions.checkArgument(!this.deleteOutputTopic,
+                    "Output topics cannot be deleted when resetting to a timestamp");
+            cleanUpRunner.resetToTimestamp(timestamp.get(), this.resetState);
+        } else {
+            cleanUpRunner.run(this.deleteOutputTopic);
+            if (this.compactInternalSerde) {
+                // all internal topics referencing the schemas have been deleted
+                cleanUpRunner.getAdminClient().getTopicClient()
+                        .deleteTopicIfExists(CompactInternalAvroSerde.getSchemaTopic(this.getUniqueAppId()));
+            }
+        }
+    }
+
+    /**
+     * Create the compacted topic that {@link CompactInternalAvroSerde} saves writer schemas to if it does not exist.
+     * The topic has a single partition and the replication factor configured for internal topics via
+     * {@link StreamsConfig#REPLICATION_FACTOR_CONFIG}. If not configured, the replication factor of the input topics
+     * or, if no input topic exists, the default of the broker is used.
+     */
+    protected void provisionCompactSchemaTopic() {
+        final Short replicationFactor = Optional.ofNullable(this.getKafkaProperties()
+                        .get(StreamsConfig.REPLICATION_FACTOR_CONFIG))
+                .map(factor -> Short.valueOf(factor.toString()))
+                .orElse(null);
+        final TopicSpec spec = TopicSpec.builder()
+                .partitions(1)
+                .replicationFactor(replicationFactor)
+                .compacted(true)
+                .build();
+        try (final ImprovedAdminClient adminClient = this.createAdminClient()) {
+            TopicProvisioner.builder()
+                    .topicClient(adminClient.getTopicClient())
+                    .build()
+                    .provision(Map.of(CompactInternalAvroSerde.getSchemaTopic(this.getUniqueAppId()), spec),
+                            this.getAllInputTopics());
+        }
+    }
+
+    private File getStateDir() {
+        return getStateDir(this.getKafkaProperties());
+    }
+
+    private static File getStateDir(final Properties kafkaProperties) {
+        final StreamsConfig config = new StreamsConfig(kafkaProperties);
+        return new File(config.getString(StreamsConfig.STATE_DIR_CONFIG));
+    }
+
+    private boolean usesSharedSchemaCache() {
+        return this.sharedSchemaCache || this.persistentSchemaCache || this.warmUp;
+    }
+
+    private File getSchemaCacheFile(final Properties kafkaProperties) {
+        final File appDir = new File(getStateDir(kafkaProperties), this.getUniqueAppId());
+        return new File(appDir, SCHEMA_CACHE_FILE_NAME);
+    }
+
+    private void deleteSchemaCache() {
+        final File cacheFile = this.getSchemaCacheFile(this.getKafkaProperties());
+        try {
+            Files.deleteIfExists(cacheFile.toPath());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to delete schema cache " + cacheFile, e);
+        }
+    }
+
+    private Optional<Instant> getResetTimestampOrDuration() {
+        Preconditions.checkArgument(this.resetTimestamp == null || this.resetDuration == null,
+                "Only one of --reset-timestamp and --reset-duration can be specified");
+        if (this.resetDuration != null) {
+            return Optional.of(Instant.now().minus(this.resetDuration));
+        }
+        return Optional.ofNullable(this.resetTimestamp);
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.InterruptException;
+
+/**
+ * Runtime for sending records with a {@link Producer}. Sends are pipelined, i.e., records are sent asynchronously and
+ * acknowledged in callbacks. The number of unacknowledged records is bounded: {@link #send(ProducerRecord)} blocks if
+ * too many records are in flight. Additionally, the producer itself blocks if its {@code buffer.memory} is exhausted.
+ * <p>
+ * Failures are collected in the callbacks. Once a record failed, subsequent sends, {@link #flush()}, and
+ * {@link #close()} throw a {@link ProducerSendException} that contains the failures. Records and bytes per second are
+ * tracked for acknowledged records.
+ */
+@Slf4j
+public final class ManagedProducer<K, V> implements AutoCloseable {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 10_000;
+    public static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofMinutes(1L);
+    private static final int MAX_REPORTED_FAILURES = 10;
+    private final @NonNull Producer<K, V> producer;
+    private final int maxInFlight;
+    private final @NonNull Duration closeTimeout;
+    private final Semaphore inFlight;
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Queue<Exception> reportedFailures = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+
+    @Builder
+    private ManagedProducer(final @NonNull Producer<K, V> producer, final Integer maxInFlight,
+            final Duration closeTimeout) {
+        this.producer = producer;
+        this.maxInFlight = maxInFlight == null ? DEFAULT_MAX_IN_FLIGHT : maxInFlight;
+        if (this.maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum number of in-flight records must be positive");
+        }
+        this.closeTimeout = closeTimeout == null ? DEFAULT_CLOSE_TIMEOUT : closeTimeout;
+        this.inFlight = new Semaphore(this.maxInFlight);
+    }
+
+    /**
+     * Send a record asynchronously. Blocks if the maximum number of records is in flight.
+     *
+     * @param record record to send
+     * @return future of the metadata of the acknowledged record
+     * @throws ProducerSendException if a previous record could not be sent
+     */
+    public Future<RecordMetadata> send(final ProducerRecord<K, V> record) {
+        return this.send(record, null);
+    }
+
+    /**
+     * Send a record asynchronously. Blocks if the maximum number of records is in flight.
+     *
+     * @param record record to send
+     * @param callback callback invoked after the record has been acknowledged or has failed. Can be {@code null}.
+     * @return future of the metadata of the acknowledged record
+     * @throws ProducerSendException if a previous record could not be sent
+     */
+    public Future<RecordMetadata> send(final ProducerRecord<K, V> record, final Callback callback) {
+        this.checkFailures();
+        try {
+            this.inFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        }
+        try {
+            return this.producer.send(record, (metadata, exception) -> {
+                this.inFlight.release();
+                if (exception == null) {
+                    this.records.incrementAndGet();
+                    this.bytes.addAndGet(Math.max(0, metadata.serializedKeySize())
+                            + Math.max(0, metadata.serializedValueSize()));
+                } else {
+                    this.failures.incrementAndGet();
+                    if (this.reportedFailures.size() < MAX_REPORTED_FAILURES) {
+                        this.reportedFailures.add(exception);
+                    }
+                    log.error("Failed to send record to topic {}", record.topic(), exception);
+                }
+                if (callback != null) {
+                    callback.onCompletion(metadata, exception);
+                }
+            });
+        } catch (final RuntimeException e) {
+            this.inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until all sent records are acknowledged.
+     *
+     * @throws ProducerSendException if a record could not be sent
+     */
+    public void flush() {
+        this.producer.flush();
+        this.checkFailures();
+    }
+
+    /**
+     * Get statistics about acknowledged records.
+     *
+     * @return statistics since creation of this producer
+     */
+    public ProducerStats getStats() {
+        return ProducerStats.builder()
+                .records(this.records.get())
+                .bytes(this.bytes.get())
+                .failures(this.failures.get())
+                .elapsed(Duration.ofNanos(System.nanoTime() - this.startNanos))
+                .build();
+    }
+
+    /**
+     * Wait for all sent records to be acknowledged and close the producer. Waits at most for the configured close
+     * timeout.
+     *
+     * @throws ProducerSendException if a record could not be sent or records are still in flight after the timeout
+     */
+    @Override
+    public void close() {
+        this.close(this.closeTimeout);
+    }
+
+    /**
+     * Wait for all sent records to be acknowledged and close the producer.
+     *
+     * @param timeout maximum time to wait for acknowledgements
+     * @throws ProducerSendException if a record could not be sent or records are still in flight after the timeout
+     */
+    public void close(final Duration timeout) {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final boolean acknowledged = this.awaitAcknowledgements(timeout);
+        final Duration remaining = Duration.ofNanos(Math.max(0L, deadline - System.nanoTime()));
+        this.producer.close(acknowledged ? remaining : Duration.ZERO);
+        final ProducerStats stats = this.getStats();
+        log.info("Sent {} records with {} bytes in {} ({} records/s, {} bytes/s)", stats.getRecords(),
+                stats.getBytes(), stats.getElapsed(), Math.round(stats.getRecordsPerSecond()),
+                Math.round(stats.getBytesPerSecond()));
+        if (!acknowledged) {
+            throw this.createException(String.format("Records were still in flight after %s", timeout));
+        }
+        this.checkFailures();
+    }
+
+    private boolean awaitAcknowledgements(final Duration timeout) {
+        try {
+            if (this.inFlight.tryAcquire(this.maxInFlight, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                this.inFlight.release(this.maxInFlight);
+                return true;
+            }
+            return false;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        }
+    }
+
+    private void checkFailures() {
+        final long failureCount = this.failures.get();
+        if (failureCount > 0L) {
+            throw this.createException(String.format("Failed to send %d records", failureCount));
+        }
+    }
+
+    private ProducerSendException createException(final String message) {
+        final ProducerSendException exception = new ProducerSendException(message);
+        this.reportedFailures.forEach(exception::addSuppressed);
+        return exception;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.avro.file.SeekableInput;
+
+/**
+ * {@link SeekableInput} that reads a file via memory-mapped segments. Files larger than a single mapping are mapped in
+ * multiple segments.
+ */
+final class MappedSeekableInput implements SeekableInput {
+    private final List<MappedByteBuffer> segments;
+    private final long length;
+    private long position = 0L;
+
+    private MappedSeekableInput(final List<MappedByteBuffer> segments, final long length) {
+        this.segments = segments;
+        this.length = length;
+    }
+
+    static MappedSeekableInput open(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final List<MappedByteBuffer> segments = new ArrayList<>();
+            for (long start = 0L; start < size; start += FileChunks.MAX_CHUNK_SIZE) {
+                final long segmentSize = Math.min(FileChunks.MAX_CHUNK_SIZE, size - start);
+                segments.add(channel.map(MapMode.READ_ONLY, start, segmentSize));
+            }
+            // mappings stay valid after the channel is closed
+            return new MappedSeekableInput(segments, size);
+        }
+    }
+
+    @Override
+    public void seek(final long p) throws IOException {
+        if (p < 0L || p > this.length) {
+            throw new IOException("Cannot seek to " + p + " in file of length " + this.length);
+        }
+        this.position = p;
+    }
+
+    @Override
+    public long tell() {
+        return this.position;
+    }
+
+    @Override
+    public long length() {
+        return this.length;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (this.position >= this.length) {
+            return -1;
+        }
+        final int segmentIndex = (int) (this.position / FileChunks.MAX_CHUNK_SIZE);
+        final int segmentPosition = (int) (this.position % FileChunks.MAX_CHUNK_SIZE);
+        final MappedByteBuffer segment = this.segments.get(segmentIndex);
+        final int read = Math.min(len, segment.limit() - segmentPosition);
+        // use a duplicate so that concurrent readers of the same mapping do not interfere
+        segment.duplicate().position(segmentPosition).get(b, off, read);
+        this.position += read;
+        return read;
+    }
+
+    @Override
+    public void close() {
+        // mappings are released by the garbage collector
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.utils.Utils;
+
+/**
+ * This class generates and sends the records of a {@link SplittableSource} in parallel. Shards of the source are
+ * generated on a pool of generator threads. Records are routed by the hash of their key to a fixed sender thread, so
+ * that records with the same key generated by the same shard are sent in order. Per-key order holds only within a
+ * shard: records with the same key generated by different shards are sent in no particular order. Senders either
+ * share one producer or use one producer each, as defined by {@link ProducerMode}. Bounded queues between generators
+ * and senders apply backpressure to the generators.
+ * <p>
+ * If a shard or a send fails, all workers are stopped and the failure is rethrown.
+ * <p>
+ * Shards of a {@link CheckpointedSource} resume from the positions saved in a {@link CheckpointStore}. A position is
+ * only saved once all records generated before it have been acknowledged.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+@Slf4j
+public final class ParallelProducerRunner<K, V> {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final Duration OFFER_TIMEOUT = Duration.ofMillis(100L);
+    private final @NonNull Supplier<? extends ManagedProducer<K, V>> producerFactory;
+    private final int parallelism;
+    private final @NonNull ProducerMode producerMode;
+    private final int queueCapacity;
+    private final QueuedRecord<K, V> end = new QueuedRecord<>(null, null);
+
+    @Builder
+    private ParallelProducerRunner(final @NonNull Supplier<? extends ManagedProducer<K, V>> producerFactory,
+            final Integer parallelism, final ProducerMode producerMode, final Integer queueCapacity) {
+        this.producerFactory = producerFactory;
+        this.parallelism = parallelism == null ? Runtime.getRuntime().availableProcessors() : parallelism;
+        if (this.parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.producerMode = producerMode == null ? ProducerMode.SHARED : producerMode;
+        this.queueCapacity = queueCapacity == null ? DEFAULT_QUEUE_CAPACITY : queueCapacity;
+    }
+
+    private static RuntimeException unwrap(final RuntimeException exception) {
+        if (exception instanceof CompletionException && exception.getCause() instanceof RuntimeException) {
+            return (RuntimeException) exception.getCause();
+        }
+        return exception;
+    }
+
+    private static void awaitOrFail(final CompletableFuture<?> future, final CompletableFuture<?> failure) {
+        CompletableFuture.anyOf(future, failure).join();
+    }
+
+    /**
+     * Generate and send all records of a source. Returns after all records have been acknowledged.
+     *
+     * @param source source of records
+     * @throws ProducerSendException if records could not be sent
+     * @throws CompletionException if a shard failed to generate records with a checked exception. Unchecked exceptions
+     * are rethrown as is.
+     */
+    public void run(final SplittableSource<K, V> source) {
+        final List<RecordShard<K, V>> shards = source.split(this.parallelism);
+        log.info("Generating records of {} shards with {} workers", shards.size(), this.parallelism);
+        this.runAll(shards.stream()
+                .<Generator<K, V>>map(shard -> router -> shard.generate(router::send))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Generate and send all records of a source starting from the last checkpoint. The position of each shard up to
+     * which all records have been acknowledged is saved periodically and after all records have been acknowledged
+     * or sending failed. Records generated after the last saved position are sent again on restart.
+     *
+     * @param source source of records
+     * @param store store to load the last checkpoint from and to save checkpoints to
+     * @param interval interval in which checkpoints are saved
+     * @throws ProducerSendException if records could not be sent
+     * @throws CompletionException if a shard failed to generate records with a checked exception. Unchecked exceptions
+     * are rethrown as is.
+     * @throws IllegalArgumentException if shard ids are not unique
+     */
+    public void run(final CheckpointedSource<K, V> source, final @NonNull CheckpointStore store,
+            final @NonNull Duration interval) {
+        final Map<String, Long> checkpoint = store.load();
+        final List<CheckpointedShard<K, V>> shards = source.split(this.parallelism);
+        final Map<String, ShardProgress> progresses = new LinkedHashMap<>();
+        final List<Generator<K, V>> generators = new ArrayList<>(shards.size());
+        for (final CheckpointedShard<K, V> shard : shards) {
+            final long position = checkpoint.getOrDefault(shard.getId(), shard.getInitialPosition());
+            final ShardProgress progress = new ShardProgress(shard.getId(), position);
+            if (progresses.put(shard.getId(), progress) != null) {
+                throw new IllegalArgumentException("Duplicate shard id " + shard.getId());
+            }
+            generators.add(router -> shard.generate(position, (record, nextPosition) -> {
+                final long sequence = progress.register(nextPosition);
+                router.send(record, (metadata, exception) -> {
+                    if (exception == null) {
+                        progress.acknowledge(sequence);
+                    }
+                });
+            }));
+        }
+        final long resumed = shards.stream().filter(shard -> checkpoint.containsKey(shard.getId())).count();
+        log.info("Generating records of {} shards with {} workers, {} shards resumed from checkpoint", shards.size(),
+                this.parallelism, resumed);
+        final Checkpointer checkpointer = new Checkpointer(store, progresses.values(), checkpoint);
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(checkpointer::tryCommit, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        try {
+            this.runAll(generators);
+        } catch (final RuntimeException e) {
+            try {
+                stop(scheduler);
+                checkpointer.commit();
+            } catch (final RuntimeException commitException) {
+                e.addSuppressed(commitException);
+            }
+            throw e;
+        }
+        stop(scheduler);
+        checkpointer.commit();
+    }
+
+    private static void stop(final ExecutorService executor) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        }
+    }
+
+    private void runAll(final List<Generator<K, V>> shards) {
+        final List<BlockingQueue<QueuedRecord<K, V>>> queues = IntStream.range(0, this.parallelism)
+                .mapToObj(i -> new ArrayBlockingQueue<QueuedRecord<K, V>>(this.queueCapacity))
+                .collect(Collectors.toList());
+        final List<ManagedProducer<K, V>> producers = this.createProducers();
+        final ExecutorService senders = Executors.newFixedThreadPool(this.parallelism);
+        final ExecutorService generators = Executors.newFixedThreadPool(this.parallelism);
+        final CompletableFuture<Void> failure = new CompletableFuture<>();
+        try {
+            final CompletableFuture<Void> sending = all(IntStream.range(0, this.parallelism)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> this.drain(queues.get(i), producers.get(i % producers.size())), senders))
+                    .collect(Collectors.toList()), failure);
+            final Router<K, V> router = new Router<>(queues);
+            final CompletableFuture<Void> generating = all(shards.stream()
+                    .map(shard -> CompletableFuture.runAsync(() -> generate(shard, router), generators))
+                    .collect(Collectors.toList()), failure);
+            awaitOrFail(generating, failure);
+            for (final BlockingQueue<QueuedRecord<K, V>> queue : queues) {
+                this.offerUntilFailed(queue, this.end, failure);
+            }
+            awaitOrFail(sending, failure);
+        } catch (final RuntimeException e) {
+            generators.shutdownNow();
+            senders.shutdownNow();
+            final RuntimeException cause = unwrap(e);
+            for (final ManagedProducer<K, V> producer : producers) {
+                try {
+                    producer.close(Duration.ZERO);
+                } catch (final RuntimeException closeException) {
+                    cause.addSuppressed(closeException);
+                }
+            }
+            throw cause;
+        } finally {
+            generators.shutdown();
+            senders.shutdown();
+        }
+        this.closeAll(producers);
+    }
+
+    private static <K, V> void generate(final Generator<K, V> shard, final Router<K, V> router) {
+        try {
+            shard.generate(router);
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new CompletionException("Failed to generate records", e);
+        }
+    }
+
+    private List<ManagedProducer<K, V>> createProducers() {
+        final int producers = this.producerMode == ProducerMode.SHARED ? 1 : this.parallelism;
+        final List<ManagedProducer<K, V>> result = new ArrayList<>(producers);
+        for (int i = 0; i < producers; i++) {
+            result.add(this.producerFactory.get());
+        }
+        return result;
+    }
+
+    private static CompletableFuture<Void> all(final List<CompletableFuture<Void>> futures,
+            final CompletableFuture<Void> failure) {
+        futures.forEach(future -> future.whenComplete((ignored, error) -> {
+            if (error != null) {
+                failure.completeExceptionally(error);
+            }
+        }));
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    private void drain(final BlockingQueue<QueuedRecord<K, V>> queue, final ManagedProducer<K, V> producer) {
+        try {
+            while (true) {
+                final QueuedRecord<K, V> queued = queue.take();
+                if (queued == this.end) {
+                    return;
+                }
+                producer.send(queued.getRecord(), queued.getCallback());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        }
+    }
+
+    private void offerUntilFailed(final BlockingQueue<QueuedRecord<K, V>> queue, final QueuedRecord<K, V> record,
+            final CompletableFuture<Void> failure) {
+        try {
+            while (!queue.offer(record, OFFER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                if (failure.isDone()) {
+                    failure.join();
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        }
+    }
+
+    private void closeAll(final List<ManagedProducer<K, V>> producers) {
+        RuntimeException exception = null;
+        for (final ManagedProducer<K, V> producer : producers) {
+            try {
+                producer.close();
+            } catch (final RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Generator<K, V> {
+        void generate(Router<K, V> router) throws Exception;
+    }
+
+    @Value
+    private static class QueuedRecord<K, V> {
+        ProducerRecord<K, V> record;
+        Callback callback;
+    }
+
+    /**
+     * Routes records by the hash of their key to the queue of a sender
+     */
+    @RequiredArgsConstructor
+    private static final class Router<K, V> {
+        private final @NonNull List<BlockingQueue<QueuedRecord<K, V>>> queues;
+
+        private void send(final ProducerRecord<K, V> record) {
+            this.send(record, null);
+        }
+
+        private void send(final ProducerRecord<K, V> record, final Callback callback) {
+            final int index = record.key() == null ? ThreadLocalRandom.current().nextInt(this.queues.size())
+                    : Utils.toPositive(record.key().hashCode()) % this.queues.size();
+            try {
+                this.queues.get(index).put(new QueuedRecord<>(record, callback));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptException(e);
+            }
+        }
+    }
+
+    /**
+     * Saves the committable positions of all shards if they changed since the last save
+     */
+    private static final class Checkpointer {
+        private final CheckpointStore store;
+        private final Collection<ShardProgress> progresses;
+        private final Map<String, Long> saved;
+
+        private Checkpointer(final CheckpointStore store, final Collection<ShardProgress> progresses,
+                final Map<String, Long> saved) {
+            this.store = store;
+            this.progresses = progresses;
+            this.saved = new HashMap<>(saved);
+        }
+
+        private void commit() {
+            final Map<String, Long> changed = new HashMap<>();
+            for (final ShardProgress progress : this.progresses) {
+                final long position = progress.getCommittablePosition();
+                if (!Long.valueOf(position).equals(this.saved.get(progress.getId()))) {
+                    changed.put(progress.getId(), position);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            this.store.save(changed);
+            this.saved.putAll(changed);
+            log.debug("Saved checkpoint of {} shards", changed.size());
+        }
+
+        private void tryCommit() {
+            try {
+                this.commit();
+            } catch (final RuntimeException e) {
+                log.warn("Failed to save checkpoint", e);
+            }
+        }
+    }
+}
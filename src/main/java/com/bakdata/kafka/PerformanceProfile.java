@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.google.common.base.Preconditions;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.UnaryOperator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.streams.StreamsConfig;
+
+/**
+ * Coherent bundles of Kafka configurations that trade off delivery guarantees, throughput, and latency. Profiles are
+ * applied before configurations specified via environment or command line, which can still override single values.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public enum PerformanceProfile {
+    /**
+     * Exactly-once processing with strict ordering. Only one request is in flight per connection and records are
+     * compressed with gzip.
+     */
+    EXACTLY_ONCE(StreamsConfig.EXACTLY_ONCE, Map.of(
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "gzip"
+    ), Map.of()),
+    /**
+     * Exactly-once processing with idempotent producers that allow up to five in-flight requests without reordering.
+     * Kafka Streams uses one transactional producer per thread instead of one per task. Requires brokers of version 2.5
+     * or newer. Producer applications use idempotent producers with the same settings.
+     */
+    EXACTLY_ONCE_BETA(StreamsConfig.EXACTLY_ONCE_BETA, Map.of(
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "gzip"
+    ), Map.of()),
+    /**
+     * At-least-once processing optimized for throughput. Idempotent producers allow multiple requests in flight
+     * without reordering. Records are sent in large, lz4 compressed batches.
+     */
+    THROUGHPUT(StreamsConfig.AT_LEAST_ONCE, Map.of(
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+            ProducerConfig.BATCH_SIZE_CONFIG, 128 * 1024,
+            ProducerConfig.LINGER_MS_CONFIG, 50
+    ), Map.of()),
+    /**
+     * At-least-once processing optimized for latency. Records are sent immediately and offsets are committed
+     * frequently.
+     */
+    LATENCY(StreamsConfig.AT_LEAST_ONCE, Map.of(
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+            ProducerConfig.LINGER_MS_CONFIG, 0
+    ), Map.of(
+            StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, 100
+    ));
+
+    private static final int MAX_IDEMPOTENT_IN_FLIGHT_REQUESTS = 5;
+    /**
+     * Processing guarantee of Kafka Streams applications
+     */
+    @Getter
+    private final String processingGuarantee;
+    private final Map<String, Object> producerConfig;
+    private final Map<String, Object> streamsConfig;
+
+    /**
+     * Add the configuration of this profile to the configuration of a Kafka Streams application. Producer
+     * configurations are prefixed with {@link StreamsConfig#PRODUCER_PREFIX}.
+     *
+     * @param kafkaConfig configuration to add profile to
+     */
+    public void configureStreams(final Properties kafkaConfig) {
+        kafkaConfig.setProperty(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, this.processingGuarantee);
+        this.streamsConfig.forEach(kafkaConfig::put);
+        this.producerConfig.forEach((key, value) -> kafkaConfig.put(StreamsConfig.producerPrefix(key), value));
+    }
+
+    /**
+     * Add the configuration of this profile to the configuration of a Kafka producer.
+     *
+     * @param kafkaConfig configuration to add profile to
+     */
+    public void configureProducer(final Properties kafkaConfig) {
+        this.producerConfig.forEach(kafkaConfig::put);
+    }
+
+    /**
+     * Validate that the final configuration of a Kafka Streams application is coherent.
+     *
+     * @param kafkaConfig configuration including overrides
+     * @throws IllegalArgumentException if the configuration cannot work
+     */
+    public void validateStreams(final Properties kafkaConfig) {
+        final String processingGuarantee = kafkaConfig.getProperty(StreamsConfig.PROCESSING_GUARANTEE_CONFIG);
+        if (!this.processingGuarantee.equals(processingGuarantee)) {
+            log.warn("Processing guarantee {} overrides processing guarantee {} of performance profile {}",
+                    processingGuarantee, this.processingGuarantee, this);
+        }
+        // Kafka Streams enables idempotence for exactly-once processing
+        final boolean implicitIdempotence = !StreamsConfig.AT_LEAST_ONCE.equals(processingGuarantee);
+        this.validateProducerConfig(key -> {
+            final Object value = kafkaConfig.get(StreamsConfig.producerPrefix(key));
+            return value == null ? kafkaConfig.get(key) : value;
+        }, implicitIdempotence);
+    }
+
+    /**
+     * Validate that the final configuration of a Kafka producer is coherent.
+     *
+     * @param kafkaConfig configuration including overrides
+     * @throws IllegalArgumentException if the configuration cannot work
+     */
+    public void validateProducer(final Properties kafkaConfig) {
+        this.validateProducerConfig(kafkaConfig::get, false);
+    }
+
+    private void validateProducerConfig(final UnaryOperator<Object> config, final boolean implicitIdempotence) {
+        final boolean idempotent = implicitIdempotence || Boolean.parseBoolean(
+                String.valueOf(config.apply(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG)));
+        final Object inFlightValue = config.apply(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION);
+        final int inFlight = inFlightValue == null ? MAX_IDEMPOTENT_IN_FLIGHT_REQUESTS
+                : Integer.parseInt(String.valueOf(inFlightValue));
+        if (idempotent) {
+            // producers default to acks=all if idempotence is enabled
+            final Object acksValue = config.apply(ProducerConfig.ACKS_CONFIG);
+            final String acks = acksValue == null ? "all" : String.valueOf(acksValue);
+            Preconditions.checkArgument("all".equals(acks) || "-1".equals(acks),
+                    "Idempotent producers of performance profile %s require acks=all but got acks=%s", this, acks);
+            Preconditions.checkArgument(inFlight <= MAX_IDEMPOTENT_IN_FLIGHT_REQUESTS,
+                    "Idempotent producers of performance profile %s allow at most %s in-flight requests but got %s",
+                    this, MAX_IDEMPOTENT_IN_FLIGHT_REQUESTS, inFlight);
+        } else if (inFlight > 1) {
+            log.warn("Producers of performance profile {} are neither idempotent nor limited to one in-flight request. "
+                    + "Records might be reordered on retries", this);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.ImprovedAdminClient;
+import com.bakdata.kafka.util.TopicSettings;
+import com.bakdata.kafka.util.TopologyInformation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.Topology;
+
+/**
+ * Checks the topics of a Kafka Streams application before it is started. All external source and sink topics are
+ * described with a single request. The check fails if a topic does not exist or if co-partitioned source topics have
+ * different numbers of partitions.
+ */
+@Slf4j
+public final class PreflightRunner {
+    private final TopologyInformation topologyInformation;
+    private final @NonNull ImprovedAdminClient adminClient;
+
+    @Builder
+    private PreflightRunner(final @NonNull Topology topology, final @NonNull String appId,
+            final @NonNull ImprovedAdminClient adminClient) {
+        this.adminClient = adminClient;
+        this.topologyInformation = new TopologyInformation(topology, appId);
+    }
+
+    /**
+     * Run the preflight checks.
+     *
+     * @throws IllegalStateException if any check fails. The message contains a report of all failed checks.
+     */
+    public void run() {
+        final Collection<String> sourceTopics = new LinkedHashSet<>(this.topologyInformation.getExternalSourceTopics());
+        sourceTopics.addAll(this.topologyInformation.getIntermediateTopics());
+        final Collection<String> topics = new LinkedHashSet<>(sourceTopics);
+        topics.addAll(this.topologyInformation.getExternalSinkTopics());
+        final Map<String, Optional<TopicSettings>> settings =
+                this.adminClient.getTopicClient().describeIfExist(topics);
+
+        final List<String> errors = new ArrayList<>();
+        settings.forEach((topic, topicSettings) -> {
+            if (topicSettings.isEmpty()) {
+                final String role = sourceTopics.contains(topic) ? "Source" : "Sink";
+                errors.add(String.format("%s topic '%s' does not exist", role, topic));
+            }
+        });
+        for (final Set<String> coPartitionedTopics : this.topologyInformation.getCoPartitionedSourceTopics()) {
+            final Map<String, Integer> partitions = new LinkedHashMap<>();
+            for (final String topic : coPartitionedTopics) {
+                settings.getOrDefault(topic, Optional.empty())
+                        .ifPresent(topicSettings -> partitions.put(topic, topicSettings.getPartitions()));
+            }
+            if (partitions.values().stream().distinct().count() > 1) {
+                errors.add(String.format("Co-partitioned topics have different numbers of partitions: %s",
+                        partitions));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(errors.stream()
+                    .collect(Collectors.joining("\n- ", "Preflight check failed:\n- ", "")));
+        }
+        log.info("Preflight check succeeded for topics {}", topics);
+    }
+}
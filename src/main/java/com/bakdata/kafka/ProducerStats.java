@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Contains statistics about the records sent by a {@link ManagedProducer}.
+ */
+@Value
+@Builder
+public class ProducerStats {
+    long records;
+    long bytes;
+    long failures;
+    @NonNull Duration elapsed;
+
+    /**
+     * Get the number of acknowledged records per second.
+     *
+     * @return records per second
+     */
+    public double getRecordsPerSecond() {
+        return this.records * 1000.0 / Math.max(1L, this.elapsed.toMillis());
+    }
+
+    /**
+     * Get the number of bytes of serialized keys and values of acknowledged records per second.
+     *
+     * @return bytes per second
+     */
+    public double getBytesPerSecond() {
+        return this.bytes * 1000.0 / Math.max(1L, this.elapsed.toMillis());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.CachingSchemaRegistryClient;
+import com.google.common.base.Preconditions;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.Schema.Type;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Deserializer for Avro records in the schema registry format that only decodes a projection of each record. The
+ * projection is either specified as reader schema or as names of top-level fields. All other fields are skipped by
+ * Avro's resolving decoder without being materialized, which is considerably cheaper than decoding wide records
+ * completely if only a few fields are needed.
+ * <p>
+ * A {@link DatumReader} is cached per writer schema id, i.e., per pair of writer and reader schema. If no schema
+ * registry client is specified, the client shared via {@link CachingSchemaRegistryClient#getShared(Map)} is used.
+ */
+@Slf4j
+public final class ProjectingAvroDeserializer implements Deserializer<GenericRecord> {
+    private static final byte MAGIC_BYTE = 0x0;
+    private final Schema readerSchema;
+    private final Set<String> fields;
+    private final Map<Integer, DatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+    private SchemaRegistryClient schemaRegistryClient;
+
+    @Builder
+    private ProjectingAvroDeserializer(final Schema readerSchema, @Singular final Collection<String> fields,
+            final SchemaRegistryClient schemaRegistryClient) {
+        Preconditions.checkArgument(readerSchema == null ^ fields.isEmpty(),
+                "Either a reader schema or fields must be specified");
+        this.readerSchema = readerSchema;
+        this.fields = Set.copyOf(fields);
+        this.schemaRegistryClient = schemaRegistryClient;
+    }
+
+    /**
+     * Create a reader schema that contains only the specified top-level fields of a record schema. Fields that are
+     * not part of the writer schema are ignored and logged as warning.
+     *
+     * @param writerSchema record schema the data was written with
+     * @param fields names of fields to keep
+     * @return projected record schema with the same full name as the writer schema
+     * @throws IllegalArgumentException if none of the fields is part of the writer schema
+     */
+    public static Schema project(final Schema writerSchema, final Collection<String> fields) {
+        if (writerSchema.getType() != Type.RECORD) {
+            throw new IllegalArgumentException("Cannot project schema of type " + writerSchema.getType());
+        }
+        final List<Field> projectedFields = writerSchema.getFields().stream()
+                .filter(field -> fields.contains(field.name()))
+                .map(field -> new Field(field, field.schema()))
+                .collect(Collectors.toList());
+        if (projectedFields.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "None of the fields " + fields + " is part of schema " + writerSchema.getFullName());
+        }
+        if (projectedFields.size() < fields.size()) {
+            final Set<String> missingFields = fields.stream()
+                    .filter(field -> writerSchema.getField(field) == null)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            log.warn("Fields {} are not part of schema {} and are ignored", missingFields,
+                    writerSchema.getFullName());
+        }
+        return Schema.createRecord(writerSchema.getName(), writerSchema.getDoc(), writerSchema.getNamespace(),
+                writerSchema.isError(), projectedFields);
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        if (this.schemaRegistryClient == null) {
+            this.schemaRegistryClient = CachingSchemaRegistryClient.getShared(configs);
+        }
+    }
+
+    @Override
+    public GenericRecord deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.get() != MAGIC_BYTE) {
+            throw new SerializationException("Unknown magic byte in record of topic " + topic);
+        }
+        final int id = buffer.getInt();
+        final DatumReader<GenericRecord> reader = this.readers.computeIfAbsent(id, this::createReader);
+        final BinaryDecoder decoder =
+                DecoderFactory.get().binaryDecoder(data, buffer.position(), buffer.remaining(), null);
+        try {
+            return reader.read(null, decoder);
+        } catch (final IOException | RuntimeException e) {
+            throw new SerializationException("Error deserializing Avro record of topic " + topic, e);
+        }
+    }
+
+    private DatumReader<GenericRecord> createReader(final int id) {
+        Preconditions.checkState(this.schemaRegistryClient != null, "Deserializer has not been configured");
+        final ParsedSchema schema;
+        try {
+            schema = this.schemaRegistryClient.getSchemaById(id);
+        } catch (final IOException | RestClientException e) {
+            throw new SerializationException("Error retrieving Avro schema for id " + id, e);
+        }
+        if (!(schema instanceof AvroSchema)) {
+            throw new SerializationException("Schema with id " + id + " is not an Avro schema");
+        }
+        final Schema writerSchema = ((AvroSchema) schema).rawSchema();
+        if (this.readerSchema != null) {
+            return new GenericDatumReader<>(writerSchema, this.readerSchema);
+        }
+        try {
+            return new GenericDatumReader<>(writerSchema, project(writerSchema, this.fields));
+        } catch (final IllegalArgumentException e) {
+            throw new SerializationException("Cannot project Avro schema with id " + id, e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Tracks the progress of a {@link CheckpointedShard}. Records are registered by the generating thread in order and
+ * acknowledged by producer callbacks in any order. The committable position is the position up to which all records
+ * have been acknowledged.
+ */
+final class ShardProgress {
+    @Getter
+    private final @NonNull String id;
+    /**
+     * Position before each unacknowledged record by sequence number
+     */
+    private final ConcurrentNavigableMap<Long, Long> pending = new ConcurrentSkipListMap<>();
+    private long sequence = 0L;
+    private volatile long position;
+
+    ShardProgress(final @NonNull String id, final long position) {
+        this.id = id;
+        this.position = position;
+    }
+
+    /**
+     * Register a record that is about to be sent. Must only be called by the generating thread.
+     *
+     * @param nextPosition position after the record
+     * @return sequence number to acknowledge the record with
+     */
+    long register(final long nextPosition) {
+        final long registered = this.sequence++;
+        this.pending.put(registered, this.position);
+        this.position = nextPosition;
+        return registered;
+    }
+
+    void acknowledge(final long registered) {
+        this.pending.remove(registered);
+    }
+
+    long getCommittablePosition() {
+        // read position first so that it is covered by pending records if a record is registered concurrently
+        final long last = this.position;
+        final Entry<Long, Long> oldestPending = this.pending.firstEntry();
+        return oldestPending == null ? last : oldestPending.getValue();
+    }
+}
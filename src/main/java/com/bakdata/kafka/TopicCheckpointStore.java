@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.CompactedTopic;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.InterruptException;
+
+/**
+ * {@link CheckpointStore} that saves positions to a compacted Kafka topic. Each position is a record keyed by the
+ * shard id. The topic should be used by a single job and must exist.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class TopicCheckpointStore implements CheckpointStore {
+    private final @NonNull CompactedTopic compactedTopic;
+    private final @NonNull String topic;
+
+    /**
+     * Creates a new {@code TopicCheckpointStore} using the specified configuration.
+     *
+     * @param configs configs passed to {@link CompactedTopic#create(Map, String, Duration)}
+     * @param topic compacted topic to save positions to
+     * @param timeout maximum time to wait for loading and saving positions
+     * @return {@code TopicCheckpointStore}
+     */
+    public static TopicCheckpointStore create(final Properties configs, final String topic, final Duration timeout) {
+        return new TopicCheckpointStore(CompactedTopic.create(configs, topic, timeout), topic);
+    }
+
+    @Override
+    public Map<String, Long> load() {
+        final Map<String, Long> positions = new HashMap<>();
+        this.compactedTopic.readFromBeginning((id, position) -> {
+            if (position == null) {
+                positions.remove(id);
+            } else {
+                positions.put(id, Long.valueOf(position));
+            }
+        });
+        log.info("Loaded checkpoint of {} shards from topic {}", positions.size(), this.topic);
+        return positions;
+    }
+
+    @Override
+    public void save(final Map<String, Long> positions) {
+        final Collection<Future<RecordMetadata>> results = new ArrayList<>(positions.size());
+        positions.forEach((id, position) -> results.add(this.compactedTopic.send(id, Long.toString(position))));
+        this.compactedTopic.flush();
+        for (final Future<RecordMetadata> result : results) {
+            try {
+                result.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptException(e);
+            } catch (final ExecutionException e) {
+                throw new KafkaException("Failed to save checkpoint to topic " + this.topic, e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.compactedTopic.close();
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.bakdata.kafka.util.CachingSchemaRegistryClient;
+import com.bakdata.kafka.util.TopologyInformation;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.Topology;
+
+/**
+ * Warms up a Kafka Streams application before it is started. The latest key and value schemas of all source and sink
+ * topics are fetched from the schema registry. Synthetic records of these schemas are deserialized with the default
+ * serdes, so that schema lookups, class loading, and JIT compilation of the deserializers do not delay the first
+ * records after start. Records are not serialized because serializers might register schemas as a side effect.
+ * <p>
+ * Serdes share the fetched schemas only if they use the same schema registry client, e.g.,
+ * {@link CachedSpecificAvroSerde} with the shared client of {@link CachingSchemaRegistryClient#getShared(Map)}. Serdes
+ * configured explicitly in the topology are not exercised. Failures are logged and do not prevent the application
+ * from starting.
+ */
+@Slf4j
+public final class WarmUpRunner {
+    public static final int DEFAULT_ITERATIONS = 1000;
+    private static final byte MAGIC_BYTE = 0x0;
+    private static final int MAX_DEPTH = 32;
+    private static final String KEY_SUFFIX = "-key";
+    private static final String VALUE_SUFFIX = "-value";
+    private final TopologyInformation topologyInformation;
+    private final @NonNull Properties kafkaProperties;
+    private final @NonNull SchemaRegistryClient schemaRegistryClient;
+    private final int iterations;
+
+    @Builder
+    private WarmUpRunner(final @NonNull Topology topology, final @NonNull String appId,
+            final @NonNull Properties kafkaProperties, final @NonNull SchemaRegistryClient schemaRegistryClient,
+            final Integer iterations) {
+        this.topologyInformation = new TopologyInformation(topology, appId);
+        this.kafkaProperties = kafkaProperties;
+        this.schemaRegistryClient = schemaRegistryClient;
+        this.iterations = iterations == null ? DEFAULT_ITERATIONS : iterations;
+    }
+
+    /**
+     * Run the warm-up.
+     *
+     * @return number of warmed up schemas and time the warm-up took
+     */
+    public WarmUpResult run() {
+        final long start = System.nanoTime();
+        final Collection<String> topics = new LinkedHashSet<>(this.topologyInformation.getExternalSourceTopics());
+        topics.addAll(this.topologyInformation.getExternalSinkTopics());
+        topics.addAll(this.topologyInformation.getIntermediateTopics());
+        final StreamsConfig config = new StreamsConfig(this.kafkaProperties);
+        int warmedUp = 0;
+        try (final Serde<Object> keySerde = config.defaultKeySerde();
+                final Serde<Object> valueSerde = config.defaultValueSerde()) {
+            for (final String topic : topics) {
+                warmedUp += this.warmUp(topic, topic + KEY_SUFFIX, keySerde);
+                warmedUp += this.warmUp(topic, topic + VALUE_SUFFIX, valueSerde);
+            }
+        }
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Warmed up serdes with {} schemas of {} topics in {}", warmedUp, topics.size(), elapsed);
+        return new WarmUpResult(warmedUp, elapsed);
+    }
+
+    private int warmUp(final String topic, final String subject, final Serde<Object> serde) {
+        final Optional<SchemaMetadata> metadata = this.getLatestSchemaMetadata(subject);
+        if (metadata.isEmpty()) {
+            return 0;
+        }
+        final String schemaType = metadata.get().getSchemaType();
+        if (schemaType != null && !AvroSchema.TYPE.equals(schemaType)) {
+            log.debug("Skipping warm-up of subject {} with schema type {}", subject, schemaType);
+            return 0;
+        }
+        try {
+            final Schema schema = new Schema.Parser().parse(metadata.get().getSchema());
+            final byte[] data = encode(metadata.get().getId(), schema);
+            for (int i = 0; i < this.iterations; i++) {
+                serde.deserializer().deserialize(topic, data);
+            }
+            return 1;
+        } catch (final RuntimeException e) {
+            log.warn("Failed to warm up serde for subject {}", subject, e);
+            return 0;
+        }
+    }
+
+    private Optional<SchemaMetadata> getLatestSchemaMetadata(final String subject) {
+        try {
+            return Optional.of(this.schemaRegistryClient.getLatestSchemaMetadata(subject));
+        } catch (final RestClientException e) {
+            log.debug("No schema for subject {} available", subject, e);
+            return Optional.empty();
+        } catch (final IOException e) {
+            log.warn("Failed to retrieve schema of subject {}", subject, e);
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] encode(final int id, final Schema schema) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(id).array());
+        final BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        try {
+            new GenericDatumWriter<>(schema).write(createValue(schema, 0), encoder);
+            encoder.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to encode synthetic record of schema " + schema.getFullName(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Object createValue(final Schema schema, final int depth) {
+        if (depth > MAX_DEPTH) {
+            // recursive schemas without a null branch cannot be instantiated
+            throw new IllegalArgumentException(
+                    "Cannot create synthetic record of schema " + schema.getFullName() + " nested deeper than "
+                            + MAX_DEPTH + " levels");
+        }
+        switch (schema.getType()) {
+            case RECORD:
+                final GenericData.Record record = new GenericData.Record(schema);
+                for (final Field field : schema.getFields()) {
+                    record.put(field.pos(), createValue(field.schema(), depth + 1));
+                }
+                return record;
+            case UNION:
+                // prefer null to terminate recursive schemas
+                final Schema branch = schema.getTypes().stream()
+                        .filter(type -> type.getType() == Schema.Type.NULL)
+                        .findFirst()
+                        .orElse(schema.getTypes().get(0));
+                return createValue(branch, depth + 1);
+            case ENUM:
+                return new GenericData.EnumSymbol(schema, schema.getEnumSymbols().get(0));
+            case FIXED:
+                return new GenericData.Fixed(schema, new byte[schema.getFixedSize()]);
+            case ARRAY:
+                return new GenericData.Array<>(0, schema);
+            case MAP:
+                return Map.of();
+            case STRING:
+                return "";
+            case BYTES:
+                return ByteBuffer.wrap(new byte[1]);
+            case INT:
+                return 0;
+            case LONG:
+                return 0L;
+            case FLOAT:
+                return 0.0F;
+            case DOUBLE:
+                return 0.0;
+            case BOOLEAN:
+                return false;
+            case NULL:
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Contains the outcome of a warm-up
+     */
+    @Value
+    public static class WarmUpResult {
+        int warmedUpSchemas;
+        @NonNull Duration elapsed;
+    }
+}
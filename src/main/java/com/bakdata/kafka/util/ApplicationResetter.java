@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static com.bakdata.kafka.util.KafkaFutures.get;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * This class resets a Kafka Streams application. It is equivalent to running {@code kafka-streams-application-reset},
+ * but uses the existing {@link ImprovedAdminClient} instead of bootstrapping its own clients:
+ * <ul>
+ *     <li>Offsets of input topics are reset to the earliest offset</li>
+ *     <li>Offsets of intermediate topics are set to the end</li>
+ *     <li>Internal topics, i.e., changelog and repartition topics of the application, are deleted</li>
+ * </ul>
+ * Offsets of all topics are reset with a single request. Internal topics are deleted concurrently.
+ * <p>
+ * Alternatively, offsets of input topics can be reset to a timestamp using
+ * {@link #resetToTimestamp(Collection, Collection, Instant, boolean)} to reprocess only recent data.
+ */
+@Slf4j
+@Builder
+public final class ApplicationResetter {
+    private static final String CHANGELOG_SUFFIX = "-changelog";
+    private static final String REPARTITION_SUFFIX = "-repartition";
+    private final @NonNull ImprovedAdminClient adminClient;
+    private final @NonNull String appId;
+
+    /**
+     * Checks whether a topic is an internal topic of a Kafka Streams application, i.e., a changelog or repartition
+     * topic prefixed with the application id.
+     *
+     * @param appId id of the Kafka Streams application
+     * @param topic the topic name
+     * @return whether the topic is an internal topic of the application
+     */
+    public static boolean isInternalTopic(final String appId, final String topic) {
+        return topic.startsWith(appId + "-")
+                && (topic.endsWith(CHANGELOG_SUFFIX) || topic.endsWith(REPARTITION_SUFFIX));
+    }
+
+    private static Map<TopicPartition, OffsetSpec> toOffsetSpecs(final Map<String, TopicSettings> topics,
+            final Supplier<OffsetSpec> offsetSpec) {
+        final Map<TopicPartition, OffsetSpec> offsetSpecs = new HashMap<>();
+        toPartitions(topics).forEach(partition -> offsetSpecs.put(partition, offsetSpec.get()));
+        return offsetSpecs;
+    }
+
+    private static List<TopicPartition> toPartitions(final Map<String, TopicSettings> topics) {
+        return topics.entrySet().stream()
+                .flatMap(entry -> IntStream.range(0, entry.getValue().getPartitions())
+                        .mapToObj(partition -> new TopicPartition(entry.getKey(), partition)))
+                .collect(Collectors.toList());
+    }
+
+    private static Collection<String> filterExistingTopics(final Collection<String> topics,
+            final Collection<String> allTopics) {
+        return topics.stream()
+                .filter(topicName -> {
+                    final boolean exists = allTopics.contains(topicName);
+                    if (!exists) {
+                        log.warn("Not resetting missing topic {}", topicName);
+                    }
+                    return exists;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reset the application. Missing input and intermediate topics are ignored.
+     *
+     * @param inputTopics topics consumed by the application whose offsets are reset to the earliest offset
+     * @param intermediateTopics topics produced and consumed by the application whose offsets are set to the end
+     * @throws IllegalStateException if the consumer group of the application has active members
+     */
+    public void reset(final Collection<String> inputTopics, final Collection<String> intermediateTopics) {
+        this.reset(inputTopics, intermediateTopics, OffsetSpec::earliest, true);
+    }
+
+    /**
+     * Reset the offsets of input topics to the first offset with a timestamp greater than or equal to the specified
+     * timestamp. Partitions without such an offset are reset to the end. Missing input and intermediate topics are
+     * ignored.
+     *
+     * @param inputTopics topics consumed by the application whose offsets are reset to the timestamp
+     * @param intermediateTopics topics produced and consumed by the application whose offsets are set to the end
+     * @param timestamp timestamp to reset input topics to
+     * @param deleteInternalTopics whether internal topics should be deleted
+     * @throws IllegalStateException if the consumer group of the application has active members
+     */
+    public void resetToTimestamp(final Collection<String> inputTopics, final Collection<String> intermediateTopics,
+            final Instant timestamp, final boolean deleteInternalTopics) {
+        log.info("Resetting input topics {} of application {} to {}", inputTopics, this.appId, timestamp);
+        this.reset(inputTopics, intermediateTopics, () -> OffsetSpec.forTimestamp(timestamp.toEpochMilli()),
+                deleteInternalTopics);
+    }
+
+    /**
+     * Reset a subset of internal topics of the application. Committed offsets of the application for these topics are
+     * deleted and the topics themselves are deleted afterwards. Missing topics are ignored. This allows resetting
+     * the state of single stores without reprocessing the whole application.
+     *
+     * @param internalTopics changelog and repartition topics to reset
+     * @throws IllegalStateException if the consumer group of the application has active members
+     */
+    public void resetInternalTopics(final Collection<String> internalTopics) {
+        this.ensureInactive();
+        final TopicClient topicClient = this.adminClient.getTopicClient();
+        final CompletableFuture<Void> reset = topicClient.listTopicsAsync()
+                .thenApply(allTopics -> filterExistingTopics(internalTopics, allTopics))
+                .thenCompose(topicClient::describeAllAsync)
+                .thenCompose(topics -> this.adminClient.getConsumerGroupClient()
+                        .deleteOffsetsAsync(this.appId, toPartitions(topics))
+                        .thenCompose(ignored -> topicClient.deleteTopicsIfExistAsync(topics.keySet())));
+        get(reset, this.adminClient.getTimeout(), "Failed to reset internal topics of application " + this.appId);
+    }
+
+    private void reset(final Collection<String> inputTopics, final Collection<String> intermediateTopics,
+            final Supplier<OffsetSpec> inputOffsetSpec, final boolean deleteInternalTopics) {
+        this.ensureInactive();
+        final TopicClient topicClient = this.adminClient.getTopicClient();
+        final CompletableFuture<Void> reset = topicClient.listTopicsAsync()
+                .thenCompose(allTopics -> CompletableFuture.allOf(
+                        this.resetOffsetsAsync(filterExistingTopics(inputTopics, allTopics),
+                                filterExistingTopics(intermediateTopics, allTopics), inputOffsetSpec),
+                        deleteInternalTopics ? this.deleteInternalTopicsAsync(allTopics)
+                                : CompletableFuture.completedFuture(null)));
+        get(reset, this.adminClient.getTimeout(), "Failed to reset application " + this.appId);
+    }
+
+    private void ensureInactive() {
+        final ConsumerGroupClient consumerGroupClient = this.adminClient.getConsumerGroupClient();
+        if (!consumerGroupClient.exists(this.appId)) {
+            return;
+        }
+        final ConsumerGroupDescription description = consumerGroupClient.describe(this.appId);
+        if (!description.members().isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "Consumer group '%s' is still active with members %s. Make sure to stop all application "
+                            + "instances before resetting", this.appId, description.members()));
+        }
+    }
+
+    private CompletableFuture<Void> resetOffsetsAsync(final Collection<String> inputTopics,
+            final Collection<String> intermediateTopics, final Supplier<OffsetSpec> inputOffsetSpec) {
+        final TopicClient topicClient = this.adminClient.getTopicClient();
+        return topicClient.describeAllAsync(inputTopics)
+                .thenCombine(topicClient.describeAllAsync(intermediateTopics), (inputs, intermediates) -> {
+                    final Map<TopicPartition, OffsetSpec> offsetSpecs =
+                            new HashMap<>(toOffsetSpecs(inputs, inputOffsetSpec));
+                    offsetSpecs.putAll(toOffsetSpecs(intermediates, OffsetSpec::latest));
+                    return offsetSpecs;
+                })
+                .thenCompose(offsetSpecs -> this.adminClient.getConsumerGroupClient()
+                        .resetOffsetsAsync(this.appId, offsetSpecs));
+    }
+
+    private CompletableFuture<Void> deleteInternalTopicsAsync(final Collection<String> allTopics) {
+        final List<String> internalTopics = allTopics.stream()
+                .filter(topic -> isInternalTopic(this.appId, topic))
+                .collect(Collectors.toList());
+        return this.adminClient.getTopicClient().deleteTopicsIfExistAsync(internalTopics);
+    }
+}
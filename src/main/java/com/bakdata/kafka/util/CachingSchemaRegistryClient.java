@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.experimental.Delegate;
+
+/**
+ * {@link SchemaRegistryClient} that looks up schemas by id and ids of registered schemas in a
+ * {@link PersistentSchemaCache} before delegating to another client. Cache hits are lock-free, whereas
+ * {@link CachedSchemaRegistryClient} synchronizes every lookup. Known schemas are served from the cache even if the
+ * schema registry is not available. All other requests are delegated.
+ * <p>
+ * Use {@link #getShared(Map)} to share a client, and thereby its cache, among all serdes of a JVM.
+ */
+@RequiredArgsConstructor
+public final class CachingSchemaRegistryClient implements SchemaRegistryClient {
+    /**
+     * File to persist the schema cache of shared clients to. If not configured, the cache is kept in memory.
+     */
+    public static final String SCHEMA_CACHE_FILE_CONFIG = "schema.cache.file";
+    private static final Map<SharedClientKey, CachingSchemaRegistryClient> SHARED_CLIENTS = new ConcurrentHashMap<>();
+    @Delegate(types = SchemaRegistryClient.class, excludes = CachedMethods.class)
+    private final @NonNull SchemaRegistryClient client;
+    @Getter
+    private final @NonNull PersistentSchemaCache cache;
+
+    /**
+     * Get a client that is shared by all callers with the same schema registry URL, cache capacity, and cache file.
+     *
+     * @param configs serde configuration containing {@link AbstractKafkaSchemaSerDeConfig#SCHEMA_REGISTRY_URL_CONFIG}
+     * and optionally {@link AbstractKafkaSchemaSerDeConfig#MAX_SCHEMAS_PER_SUBJECT_CONFIG} and
+     * {@link #SCHEMA_CACHE_FILE_CONFIG}. All configs are passed to {@link CachedSchemaRegistryClient}.
+     * @return shared {@code CachingSchemaRegistryClient}
+     */
+    public static CachingSchemaRegistryClient getShared(final Map<String, ?> configs) {
+        final Object url = configs.get(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG);
+        if (url == null) {
+            throw new IllegalArgumentException(
+                    AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG + " must be specified");
+        }
+        final String schemaRegistryUrl = url instanceof Collection
+                ? ((Collection<?>) url).stream().map(Objects::toString).collect(Collectors.joining(","))
+                : url.toString();
+        final int capacity = SchemaTopicClient.getCacheCapacity(configs);
+        final String cacheFile = Optional.ofNullable(configs.get(SCHEMA_CACHE_FILE_CONFIG))
+                .map(Objects::toString)
+                .orElse(null);
+        final SharedClientKey key = new SharedClientKey(schemaRegistryUrl, capacity, cacheFile);
+        return SHARED_CLIENTS.computeIfAbsent(key, ignored -> new CachingSchemaRegistryClient(
+                new CachedSchemaRegistryClient(schemaRegistryUrl, capacity, configs),
+                cacheFile == null ? PersistentSchemaCache.inMemory() : PersistentSchemaCache.load(Path.of(cacheFile))));
+    }
+
+    /**
+     * Write new entries of the caches of all shared clients to their files.
+     */
+    public static void flushShared() {
+        SHARED_CLIENTS.values().forEach(client -> client.cache.flush());
+    }
+
+    @Override
+    public ParsedSchema getSchemaById(final int id) throws IOException, RestClientException {
+        final Optional<ParsedSchema> cached = this.cache.getSchema(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final ParsedSchema schema = this.client.getSchemaById(id);
+        this.cache.put(id, schema);
+        return schema;
+    }
+
+    @Override
+    public ParsedSchema getSchemaBySubjectAndId(final String subject, final int id)
+            throws IOException, RestClientException {
+        final Optional<ParsedSchema> cached = this.cache.getSchema(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final ParsedSchema schema = this.client.getSchemaBySubjectAndId(subject, id);
+        this.cache.put(id, schema);
+        return schema;
+    }
+
+    @Override
+    public int register(final String subject, final ParsedSchema schema) throws IOException, RestClientException {
+        final Optional<Integer> cached = this.cache.getId(subject, schema);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final int id = this.client.register(subject, schema);
+        this.cache.put(subject, schema, id);
+        return id;
+    }
+
+    @Override
+    public int getId(final String subject, final ParsedSchema schema) throws IOException, RestClientException {
+        final Optional<Integer> cached = this.cache.getId(subject, schema);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final int id = this.client.getId(subject, schema);
+        this.cache.put(subject, schema, id);
+        return id;
+    }
+
+    @Override
+    public void reset() {
+        this.cache.clear();
+        this.client.reset();
+    }
+
+    private interface CachedMethods {
+        ParsedSchema getSchemaById(int id) throws IOException, RestClientException;
+
+        ParsedSchema getSchemaBySubjectAndId(String subject, int id) throws IOException, RestClientException;
+
+        int register(String subject, ParsedSchema schema) throws IOException, RestClientException;
+
+        int getId(String subject, ParsedSchema schema) throws IOException, RestClientException;
+
+        void reset();
+    }
+
+    @Value
+    private static class SharedClientKey {
+        String schemaRegistryUrl;
+        int capacity;
+        String cacheFile;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+/**
+ * This class writes string records to a compacted Kafka topic and reads the topic up to its current end. It is used
+ * to persist small key-value state, such as checkpoints or schemas. No consumer group is used and no offsets are
+ * committed. The topic must exist.
+ */
+@RequiredArgsConstructor
+public final class CompactedTopic implements AutoCloseable {
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100L);
+    private final @NonNull Producer<String, String> producer;
+    private final @NonNull Consumer<String, String> consumer;
+    private final @NonNull String topic;
+    private final @NonNull Duration timeout;
+    private boolean assigned = false;
+
+    /**
+     * Creates a new {@code CompactedTopic} using the specified configuration.
+     *
+     * @param configs configs passed to {@link KafkaProducer#KafkaProducer(Properties)} and
+     * {@link KafkaConsumer#KafkaConsumer(Properties)}. Serializers, deserializers, group id, and delivery guarantees
+     * are overridden.
+     * @param topic compacted topic
+     * @param timeout maximum time to wait for reading and writing records
+     * @return {@code CompactedTopic}
+     */
+    public static CompactedTopic create(final Map<?, ?> configs, final String topic, final Duration timeout) {
+        final Properties producerConfigs = new Properties();
+        producerConfigs.putAll(configs);
+        producerConfigs.remove(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+        producerConfigs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerConfigs.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerConfigs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerConfigs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        final Properties consumerConfigs = new Properties();
+        consumerConfigs.putAll(configs);
+        consumerConfigs.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        consumerConfigs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerConfigs.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerConfigs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return new CompactedTopic(new KafkaProducer<>(producerConfigs), new KafkaConsumer<>(consumerConfigs), topic,
+                timeout);
+    }
+
+    /**
+     * Asynchronously write a record.
+     *
+     * @param key key of record
+     * @param value value of record. {@code null} deletes the key.
+     * @return future of the record's metadata
+     */
+    public Future<RecordMetadata> send(final String key, final String value) {
+        return this.producer.send(new ProducerRecord<>(this.topic, key, value));
+    }
+
+    /**
+     * Send all buffered records immediately.
+     */
+    public void flush() {
+        this.producer.flush();
+    }
+
+    /**
+     * Read all records from the beginning of the topic up to its current end.
+     *
+     * @param handler called with key and value of each record in offset order per partition
+     * @throws TimeoutException if the end is not reached within the timeout
+     */
+    public synchronized void readFromBeginning(final BiConsumer<String, String> handler) {
+        final List<TopicPartition> partitions = this.getPartitions();
+        this.assign(partitions);
+        this.readToEnd(partitions, handler);
+    }
+
+    /**
+     * Read all records that have not been read yet up to the current end of the topic. The first call reads from the
+     * beginning.
+     *
+     * @param handler called with key and value of each record in offset order per partition
+     * @throws TimeoutException if the end is not reached within the timeout
+     */
+    public synchronized void readToEnd(final BiConsumer<String, String> handler) {
+        final List<TopicPartition> partitions = this.getPartitions();
+        if (!this.assigned) {
+            this.assign(partitions);
+        }
+        this.readToEnd(partitions, handler);
+    }
+
+    @Override
+    public void close() {
+        this.producer.close(this.timeout);
+        this.consumer.close(this.timeout);
+    }
+
+    private List<TopicPartition> getPartitions() {
+        return this.consumer.partitionsFor(this.topic, this.timeout).stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .collect(Collectors.toList());
+    }
+
+    private void assign(final List<TopicPartition> partitions) {
+        this.consumer.assign(partitions);
+        this.consumer.seekToBeginning(partitions);
+        this.assigned = true;
+    }
+
+    private void readToEnd(final List<TopicPartition> partitions, final BiConsumer<String, String> handler) {
+        final Map<TopicPartition, Long> endOffsets = this.consumer.endOffsets(partitions, this.timeout);
+        final long deadline = System.nanoTime() + this.timeout.toNanos();
+        while (!this.isAtEnd(endOffsets)) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Failed to read topic " + this.topic + " within " + this.timeout);
+            }
+            for (final ConsumerRecord<String, String> record : this.consumer.poll(POLL_TIMEOUT)) {
+                handler.accept(record.key(), record.value());
+            }
+        }
+    }
+
+    private boolean isAtEnd(final Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(entry -> this.consumer.position(entry.getKey(), this.timeout) >= entry.getValue());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.util.Comparator;
+import java.util.List;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.kafka.common.record.CompressionType;
+
+/**
+ * Contains the result of a compression calibration, i.e., the measurements of each benchmarked codec and the codec
+ * chosen for the configured objective.
+ *
+ * @see CompressionCalibrator
+ */
+@Value
+@Builder
+public class CompressionCalibration {
+    @NonNull CompressionObjective objective;
+    @NonNull CompressionType compressionType;
+    @NonNull List<CodecMeasurement> measurements;
+
+    /**
+     * Objective used to choose a codec from the measurements of a calibration
+     */
+    public enum CompressionObjective {
+        /**
+         * Choose the codec with the best compression ratio
+         */
+        RATIO {
+            @Override
+            CodecMeasurement choose(final List<CodecMeasurement> measurements) {
+                return measurements.stream()
+                        .max(Comparator.comparingDouble(CodecMeasurement::getRatio))
+                        .orElseThrow();
+            }
+        },
+        /**
+         * Choose the codec with the highest compression throughput
+         */
+        SPEED {
+            @Override
+            CodecMeasurement choose(final List<CodecMeasurement> measurements) {
+                return measurements.stream()
+                        .max(Comparator.comparingDouble(CodecMeasurement::getBytesPerSecond))
+                        .orElseThrow();
+            }
+        },
+        /**
+         * Choose the fastest codec whose compression ratio is at most 10% worse than the best ratio
+         */
+        BALANCED {
+            @Override
+            CodecMeasurement choose(final List<CodecMeasurement> measurements) {
+                final double minRatio = RATIO.choose(measurements).getRatio() * BALANCED_RATIO_TOLERANCE;
+                return measurements.stream()
+                        .filter(measurement -> measurement.getRatio() >= minRatio)
+                        .max(Comparator.comparingDouble(CodecMeasurement::getBytesPerSecond))
+                        .orElseThrow();
+            }
+        };
+
+        private static final double BALANCED_RATIO_TOLERANCE = 0.9;
+
+        abstract CodecMeasurement choose(List<CodecMeasurement> measurements);
+    }
+
+    /**
+     * Contains the measurement of a single codec
+     */
+    @Value
+    @Builder
+    public static class CodecMeasurement {
+        @NonNull CompressionType compressionType;
+        long uncompressedBytes;
+        long compressedBytes;
+        long nanos;
+
+        /**
+         * Get the compression ratio, i.e., the uncompressed size divided by the compressed size.
+         *
+         * @return compression ratio
+         */
+        public double getRatio() {
+            return (double) this.uncompressedBytes / Math.max(1L, this.compressedBytes);
+        }
+
+        /**
+         * Get the compression throughput measured in uncompressed bytes.
+         *
+         * @return uncompressed bytes compressed per second
+         */
+        public double getBytesPerSecond() {
+            return this.uncompressedBytes * 1.0e9 / Math.max(1L, this.nanos);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import com.bakdata.kafka.util.CompressionCalibration.CodecMeasurement;
+import com.bakdata.kafka.util.CompressionCalibration.CompressionObjective;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.SimpleRecord;
+import org.apache.kafka.common.record.TimestampType;
+
+/**
+ * This class benchmarks compression codecs on sampled records in-process. Records are compressed in batches of the
+ * configured batch size the same way a producer does, so that the measured ratio and throughput resemble production.
+ * Codecs that are not available on the current platform are skipped.
+ *
+ * @see TopicSampler
+ */
+@Slf4j
+@Builder
+public final class CompressionCalibrator {
+    private static final List<CompressionType> CODECS = List.of(CompressionType.GZIP, CompressionType.SNAPPY,
+            CompressionType.LZ4, CompressionType.ZSTD);
+    private static final int DEFAULT_BATCH_SIZE = 16384;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private final @NonNull CompressionObjective objective;
+    /**
+     * Maximum uncompressed size of a batch in bytes. Defaults to the default {@code batch.size} of producers.
+     */
+    @Builder.Default
+    private final int batchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * Number of measured iterations per codec. One additional iteration is run to warm up.
+     */
+    @Builder.Default
+    private final int iterations = DEFAULT_ITERATIONS;
+
+    private static List<List<SimpleRecord>> toBatches(final List<SimpleRecord> records, final int batchSize) {
+        final List<List<SimpleRecord>> batches = new ArrayList<>();
+        List<SimpleRecord> batch = new ArrayList<>();
+        long batchBytes = 0L;
+        for (final SimpleRecord record : records) {
+            final int recordSize = sizeOf(record);
+            if (!batch.isEmpty() && batchBytes + recordSize > batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0L;
+            }
+            batch.add(record);
+            batchBytes += recordSize;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static int sizeOf(final SimpleRecord record) {
+        final int keySize = record.key() == null ? 0 : record.key().remaining();
+        final int valueSize = record.value() == null ? 0 : record.value().remaining();
+        return keySize + valueSize;
+    }
+
+    private static long compress(final List<List<SimpleRecord>> batches, final CompressionType compressionType) {
+        long size = 0L;
+        for (final List<SimpleRecord> batch : batches) {
+            final int estimatedSize = batch.stream().mapToInt(CompressionCalibrator::sizeOf).sum() * 2 + 1024;
+            final MemoryRecordsBuilder builder = MemoryRecords.builder(ByteBuffer.allocate(estimatedSize),
+                    RecordBatch.CURRENT_MAGIC_VALUE, compressionType, TimestampType.CREATE_TIME, 0L);
+            batch.forEach(builder::append);
+            size += builder.build().sizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * Benchmark all codecs on the specified records and choose a codec for the configured objective.
+     *
+     * @param records sampled records
+     * @return measurements and chosen codec
+     * @throws IllegalArgumentException if no records are specified
+     */
+    public CompressionCalibration calibrate(final List<SimpleRecord> records) {
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Cannot calibrate compression without sample records");
+        }
+        final List<List<SimpleRecord>> batches = toBatches(records, this.batchSize);
+        final long uncompressedBytes = compress(batches, CompressionType.NONE);
+        final List<CodecMeasurement> measurements = new ArrayList<>();
+        for (final CompressionType compressionType : CODECS) {
+            try {
+                measurements.add(this.measure(batches, compressionType, uncompressedBytes));
+            } catch (final RuntimeException | LinkageError e) {
+                log.warn("Skipping compression codec {} because it is not available", compressionType, e);
+            }
+        }
+        if (measurements.isEmpty()) {
+            throw new IllegalStateException("No compression codec is available");
+        }
+        final CodecMeasurement chosen = this.objective.choose(measurements);
+        return CompressionCalibration.builder()
+                .objective(this.objective)
+                .compressionType(chosen.getCompressionType())
+                .measurements(measurements)
+                .build();
+    }
+
+    private CodecMeasurement measure(final List<List<SimpleRecord>> batches, final CompressionType compressionType,
+            final long uncompressedBytes) {
+        // warm up
+        final long compressedBytes = compress(batches, compressionType);
+        final long start = System.nanoTime();
+        for (int i = 0; i < this.iterations; i++) {
+            compress(batches, compressionType);
+        }
+        final long nanos = (System.nanoTime() - start) / this.iterations;
+        return CodecMeasurement.builder()
+                .compressionType(compressionType)
+                .uncompressedBytes(uncompressedBytes)
+                .compressedBytes(compressedBytes)
+                .nanos(nanos)
+                .build();
+    }
+}
@@ -24,23 +24,43 @@
 
 package com.bakdata.kafka.util;
 
+import static com.bakdata.kafka.util.KafkaFutures.allOf;
+import static com.bakdata.kafka.util.KafkaFutures.get;
+import static com.bakdata.kafka.util.KafkaFutures.toCompletableFuture;
+import static com.bakdata.kafka.util.KafkaFutures.unwrap;
+
+import com.bakdata.kafka.util.ConsumerGroupLag.PartitionLag;
 import java.io.Closeable;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
 import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
 
 /**
- * This class offers helpers to interact with Kafka consumer groups.
+ * This class offers helpers to interact with Kafka consumer groups. Each operation is available as a blocking method
+ * and as an asynchronous method returning a {@link CompletableFuture}.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -77,18 +97,20 @@ public final class ConsumerGroupClient implements Closeable {
      * @param groupName the consumer group name
      */
     public void deleteConsumerGroup(final String groupName) {
+        get(this.deleteConsumerGroupAsync(groupName), this.timeout, "Failed to delete consumer group " + groupName);
+    }
+
+    /**
+     * Asynchronously delete a consumer group.
+     *
+     * @param groupName the consumer group name
+     * @return future that completes when the consumer group is deleted
+     * @see #deleteConsumerGroup(String)
+     */
+    public CompletableFuture<Void> deleteConsumerGroupAsync(final String groupName) {
         log.info("Deleting consumer group '{}'", groupName);
-        try {
-            this.adminClient.deleteConsumerGroups(List.of(groupName))
-                    .all()
-                    .get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-            log.info("Deleted consumer group'{}'", groupName);
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to delete consumer group " + groupName, ex);
-        } catch (final ExecutionException | TimeoutException ex) {
-            throw new KafkaAdminException("Failed to delete consumer group " + groupName, ex);
-        }
+        return toCompletableFuture(this.adminClient.deleteConsumerGroups(List.of(groupName)).all())
+                .thenRun(() -> log.info("Deleted consumer group '{}'", groupName));
     }
 
     @Override
@@ -103,9 +125,59 @@ public final class ConsumerGroupClient implements Closeable {
      * @return whether a Kafka consumer group with the specified name exists or not
      */
     public boolean exists(final String groupName) {
-        final Collection<ConsumerGroupListing> consumerGroups = this.listGroups();
-        return consumerGroups.stream()
-                .anyMatch(c -> c.groupId().equals(groupName));
+        return get(this.existsAsync(groupName), this.timeout,
+                "Failed to check if consumer group " + groupName + " exists");
+    }
+
+    /**
+     * Asynchronously checks whether a Kafka consumer group exists. Only the specified consumer group is described
+     * instead of listing all consumer groups of the cluster.
+     *
+     * @param groupName the consumer group name
+     * @return future of whether a Kafka consumer group with the specified name exists or not
+     * @see #exists(String)
+     */
+    public CompletableFuture<Boolean> existsAsync(final String groupName) {
+        return this.existsAllAsync(List.of(groupName))
+                .thenApply(exists -> exists.get(groupName));
+    }
+
+    /**
+     * Checks whether Kafka consumer groups exist. All consumer groups are checked with a single request.
+     *
+     * @param groupNames the consumer group names
+     * @return whether a Kafka consumer group exists or not for each consumer group name
+     */
+    public Map<String, Boolean> existsAll(final Collection<String> groupNames) {
+        return get(this.existsAllAsync(groupNames), this.timeout,
+                "Failed to check if consumer groups " + groupNames + " exist");
+    }
+
+    /**
+     * Asynchronously checks whether Kafka consumer groups exist. All consumer groups are checked with a single
+     * request.
+     *
+     * @param groupNames the consumer group names
+     * @return future of whether a Kafka consumer group exists or not for each consumer group name
+     * @see #existsAll(Collection)
+     */
+    public CompletableFuture<Map<String, Boolean>> existsAllAsync(final Collection<String> groupNames) {
+        if (groupNames.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        final Map<String, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+        this.adminClient.describeConsumerGroups(groupNames).describedGroups().forEach((groupName, description) ->
+                results.put(groupName, toCompletableFuture(description).handle((groupDescription, error) -> {
+                    if (error == null) {
+                        // describing an unknown group returns a group in state dead
+                        return groupDescription.state() != ConsumerGroupState.DEAD;
+                    }
+                    if (unwrap(error) instanceof GroupIdNotFoundException) {
+                        return false;
+                    }
+                    throw new CompletionException(error);
+                })));
+        return allOf(results, "Failed to check if consumer groups exist ");
     }
 
     /**
@@ -114,17 +186,17 @@ public final class ConsumerGroupClient implements Closeable {
      * @return consumer groups
      */
     public Collection<ConsumerGroupListing> listGroups() {
-        try {
-            return this.adminClient
-                    .listConsumerGroups()
-                    .all()
-                    .get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to list consumer groups", ex);
-        } catch (final ExecutionException | TimeoutException ex) {
-            throw new KafkaAdminException("Failed to list consumer groups", ex);
-        }
+        return get(this.listGroupsAsync(), this.timeout, "Failed to list consumer groups");
+    }
+
+    /**
+     * Asynchronously list consumer groups.
+     *
+     * @return future of consumer groups
+     * @see #listGroups()
+     */
+    public CompletableFuture<Collection<ConsumerGroupListing>> listGroupsAsync() {
+        return toCompletableFuture(this.adminClient.listConsumerGroups().all());
     }
 
     /**
@@ -133,8 +205,231 @@ public final class ConsumerGroupClient implements Closeable {
      * @param groupName the consumer group name
      */
     public void deleteGroupIfExists(final String groupName) {
-        if (this.exists(groupName)) {
-            this.deleteConsumerGroup(groupName);
+        get(this.deleteGroupIfExistsAsync(groupName), this.timeout, "Failed to delete consumer group " + groupName);
+    }
+
+    /**
+     * Asynchronously delete a consumer group only if it exists.
+     *
+     * @param groupName the consumer group name
+     * @return future that completes when the consumer group does not exist anymore
+     * @see #deleteGroupIfExists(String)
+     */
+    public CompletableFuture<Void> deleteGroupIfExistsAsync(final String groupName) {
+        return this.deleteGroupsIfExistAsync(List.of(groupName));
+    }
+
+    /**
+     * Delete consumer groups only if they exist. Existence of all consumer groups is checked with a single describe
+     * request and all existing consumer groups are deleted with a single delete request. Failures are reported for each
+     * consumer group.
+     *
+     * @param groupNames the consumer group names
+     */
+    public void deleteGroupsIfExist(final Collection<String> groupNames) {
+        get(this.deleteGroupsIfExistAsync(groupNames), this.timeout,
+                "Failed to delete consumer groups " + groupNames);
+    }
+
+    /**
+     * Asynchronously delete consumer groups only if they exist.
+     *
+     * @param groupNames the consumer group names
+     * @return future that completes when none of the consumer groups exists anymore
+     * @see #deleteGroupsIfExist(Collection)
+     */
+    public CompletableFuture<Void> deleteGroupsIfExistAsync(final Collection<String> groupNames) {
+        return this.existsAllAsync(groupNames)
+                .thenApply(exists -> exists.entrySet().stream()
+                        .filter(Map.Entry::getValue)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList()))
+                .thenCompose(this::deleteConsumerGroupsAsync);
+    }
+
+    private CompletableFuture<Void> deleteConsumerGroupsAsync(final Collection<String> groupNames) {
+        if (groupNames.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Deleting consumer groups {}", groupNames);
+        final Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        this.adminClient.deleteConsumerGroups(groupNames).deletedGroups().forEach((groupName, result) ->
+                results.put(groupName, toCompletableFuture(result).whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        log.info("Deleted consumer group '{}'", groupName);
+                    } else {
+                        log.error("Failed to delete consumer group '{}'", groupName, error);
+                    }
+                })));
+        return allOf(results, "Failed to delete consumer groups ").thenApply(ignored -> null);
+    }
+
+    /**
+     * Get the lag of a consumer group. Committed offsets and end offsets of all partitions are each retrieved with a
+     * single request. End offsets are determined using {@link IsolationLevel#READ_COMMITTED}.
+     *
+     * @param groupName the consumer group name
+     * @return lag of each partition the consumer group has committed offsets for
+     */
+    public ConsumerGroupLag getLag(final String groupName) {
+        return get(this.getLagAsync(groupName), this.timeout, "Failed to retrieve lag of consumer group " + groupName);
+    }
+
+    /**
+     * Asynchronously get the lag of a consumer group.
+     *
+     * @param groupName the consumer group name
+     * @return future of lag of each partition the consumer group has committed offsets for
+     * @see #getLag(String)
+     */
+    public CompletableFuture<ConsumerGroupLag> getLagAsync(final String groupName) {
+        return toCompletableFuture(
+                this.adminClient.listConsumerGroupOffsets(groupName).partitionsToOffsetAndMetadata())
+                .thenCompose(committedOffsets -> this.getEndOffsetsAsync(committedOffsets.keySet())
+                        .thenApply(endOffsets -> {
+                            final Map<TopicPartition, PartitionLag> partitions = new HashMap<>();
+                            committedOffsets.forEach((partition, committed) -> {
+                                if (committed != null && endOffsets.containsKey(partition)) {
+                                    partitions.put(partition,
+                                            new PartitionLag(committed.offset(), endOffsets.get(partition)));
+                                }
+                            });
+                            return ConsumerGroupLag.builder()
+                                    .groupId(groupName)
+                                    .timestamp(Instant.now())
+                                    .partitions(partitions)
+                                    .build();
+                        }));
+    }
+
+    /**
+     * Describe a consumer group.
+     *
+     * @param groupName the consumer group name
+     * @return description of consumer group including its active members
+     */
+    public ConsumerGroupDescription describe(final String groupName) {
+        return get(this.describeAsync(groupName), this.timeout, "Failed to describe consumer group " + groupName);
+    }
+
+    /**
+     * Asynchronously describe a consumer group.
+     *
+     * @param groupName the consumer group name
+     * @return future of description of consumer group including its active members
+     * @see #describe(String)
+     */
+    public CompletableFuture<ConsumerGroupDescription> describeAsync(final String groupName) {
+        return toCompletableFuture(this.adminClient.describeConsumerGroups(List.of(groupName)).all())
+                .thenApply(descriptions -> descriptions.get(groupName));
+    }
+
+    /**
+     * Reset the committed offsets of a consumer group. Offsets of all partitions are resolved with a single
+     * {@code listOffsets} request and committed with a single {@code alterConsumerGroupOffsets} request. The consumer
+     * group must not have active members. Partitions without an offset for a requested timestamp, i.e., partitions
+     * without records after the timestamp, are reset to the latest offset.
+     *
+     * @param groupName the consumer group name
+     * @param offsetSpecs specification of the new offset of each partition
+     */
+    public void resetOffsets(final String groupName, final Map<TopicPartition, OffsetSpec> offsetSpecs) {
+        get(this.resetOffsetsAsync(groupName, offsetSpecs), this.timeout,
+                "Failed to reset offsets of consumer group " + groupName);
+    }
+
+    /**
+     * Asynchronously reset the committed offsets of a consumer group.
+     *
+     * @param groupName the consumer group name
+     * @param offsetSpecs specification of the new offset of each partition
+     * @return future that completes when the offsets are committed
+     * @see #resetOffsets(String, Map)
+     */
+    public CompletableFuture<Void> resetOffsetsAsync(final String groupName,
+            final Map<TopicPartition, OffsetSpec> offsetSpecs) {
+        if (offsetSpecs.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return this.listOffsetsAsync(offsetSpecs, new ListOffsetsOptions())
+                .thenCompose(this::resolveMissingOffsetsAsync)
+                .thenCompose(offsets -> {
+                    final Map<TopicPartition, OffsetAndMetadata> newOffsets = offsets.entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getKey,
+                                    entry -> new OffsetAndMetadata(entry.getValue())));
+                    log.info("Resetting offsets of consumer group '{}' to {}", groupName, offsets);
+                    return toCompletableFuture(
+                            this.adminClient.alterConsumerGroupOffsets(groupName, newOffsets).all());
+                });
+    }
+
+    /**
+     * Delete the committed offsets of a consumer group for the specified partitions. The consumer group must not be
+     * subscribed to the corresponding topics.
+     *
+     * @param groupName the consumer group name
+     * @param partitions partitions whose committed offsets are deleted
+     */
+    public void deleteOffsets(final String groupName, final Collection<TopicPartition> partitions) {
+        get(this.deleteOffsetsAsync(groupName, partitions), this.timeout,
+                "Failed to delete offsets of consumer group " + groupName);
+    }
+
+    /**
+     * Asynchronously delete the committed offsets of a consumer group for the specified partitions.
+     *
+     * @param groupName the consumer group name
+     * @param partitions partitions whose committed offsets are deleted
+     * @return future that completes when the offsets are deleted
+     * @see #deleteOffsets(String, Collection)
+     */
+    public CompletableFuture<Void> deleteOffsetsAsync(final String groupName,
+            final Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Deleting offsets of consumer group '{}' for {}", groupName, partitions);
+        final Set<TopicPartition> partitionSet = Set.copyOf(partitions);
+        return toCompletableFuture(this.adminClient.deleteConsumerGroupOffsets(groupName, partitionSet).all())
+                .exceptionally(error -> {
+                    if (unwrap(error) instanceof GroupIdNotFoundException) {
+                        log.info("Consumer group '{}' does not exist, no need to delete offsets.", groupName);
+                        return null;
+                    }
+                    throw new CompletionException(error);
+                });
+    }
+
+    private CompletableFuture<Map<TopicPartition, Long>> resolveMissingOffsetsAsync(
+            final Map<TopicPartition, Long> offsets) {
+        final Map<TopicPartition, OffsetSpec> missingOffsets = offsets.entrySet().stream()
+                .filter(entry -> entry.getValue() < 0L)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> OffsetSpec.latest()));
+        if (missingOffsets.isEmpty()) {
+            return CompletableFuture.completedFuture(offsets);
+        }
+        return this.listOffsetsAsync(missingOffsets, new ListOffsetsOptions())
+                .thenApply(latestOffsets -> {
+                    final Map<TopicPartition, Long> resolvedOffsets = new HashMap<>(offsets);
+                    resolvedOffsets.putAll(latestOffsets);
+                    return resolvedOffsets;
+                });
+    }
+
+    private CompletableFuture<Map<TopicPartition, Long>> listOffsetsAsync(
+            final Map<TopicPartition, OffsetSpec> offsetSpecs, final ListOffsetsOptions options) {
+        return toCompletableFuture(this.adminClient.listOffsets(offsetSpecs, options).all())
+                .thenApply(offsets -> offsets.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().offset())));
+    }
+
+    private CompletableFuture<Map<TopicPartition, Long>> getEndOffsetsAsync(
+            final Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
         }
+        final Map<TopicPartition, OffsetSpec> request = partitions.stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.latest()));
+        return this.listOffsetsAsync(request, new ListOffsetsOptions(IsolationLevel.READ_COMMITTED));
     }
 }
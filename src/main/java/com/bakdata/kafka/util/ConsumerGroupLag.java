@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Contains the lag of a consumer group at a point in time, i.e., the difference between the end offset and the
+ * committed offset of each partition consumed by the group.
+ */
+@Value
+@Builder
+public class ConsumerGroupLag {
+    @NonNull String groupId;
+    @NonNull Instant timestamp;
+    @NonNull Map<TopicPartition, PartitionLag> partitions;
+
+    /**
+     * Get the lag summed over all partitions.
+     *
+     * @return total lag
+     */
+    public long getTotalLag() {
+        return this.partitions.values().stream()
+                .mapToLong(PartitionLag::getLag)
+                .sum();
+    }
+
+    /**
+     * Estimate the time until the consumer group has caught up. The estimate is based on how fast the total lag
+     * decreased since a previous measurement.
+     *
+     * @param previous earlier measurement of the same consumer group
+     * @return estimated time to catch up. {@link Duration#ZERO} if there is no lag. Empty if the lag did not decrease
+     * since the previous measurement.
+     */
+    public Optional<Duration> estimateTimeToCatchUp(final ConsumerGroupLag previous) {
+        final long totalLag = this.getTotalLag();
+        if (totalLag == 0L) {
+            return Optional.of(Duration.ZERO);
+        }
+        final long elapsedMillis = Duration.between(previous.getTimestamp(), this.timestamp).toMillis();
+        final long lagDecrease = previous.getTotalLag() - totalLag;
+        if (elapsedMillis <= 0L || lagDecrease <= 0L) {
+            return Optional.empty();
+        }
+        final double millisPerRecord = (double) elapsedMillis / lagDecrease;
+        return Optional.of(Duration.ofMillis((long) Math.ceil(totalLag * millisPerRecord)));
+    }
+
+    /**
+     * Contains the committed offset and end offset of a partition.
+     */
+    @Value
+    public static class PartitionLag {
+        long committedOffset;
+        long endOffset;
+
+        /**
+         * Get the number of records that have not yet been consumed.
+         *
+         * @return lag of partition
+         */
+        public long getLag() {
+            return Math.max(0L, this.endOffset - this.committedOffset);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class waits until deleted Kafka topics and consumer groups are no longer visible in the cluster. The cluster
+ * state is polled with exponential backoff until the deletion is complete or the timeout is exceeded.
+ */
+@Slf4j
+public final class DeletionWaiter {
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100L);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5L);
+    private final @NonNull TopicClient topicClient;
+    private final ConsumerGroupClient consumerGroupClient;
+    private final @NonNull Duration timeout;
+    private final @NonNull Duration initialBackoff;
+    private final @NonNull Duration maxBackoff;
+
+    /**
+     * Creates a new {@code DeletionWaiter}.
+     *
+     * @param topicClient client used to check for topic existence
+     * @param consumerGroupClient client used to check for consumer group existence. Only required when waiting for
+     * the deletion of consumer groups
+     * @param timeout maximum time to wait for the deletion to complete
+     * @param initialBackoff time to wait after the first unsuccessful check. Defaults to 100ms
+     * @param maxBackoff maximum time to wait between two checks. Defaults to 5s
+     */
+    @Builder
+    private DeletionWaiter(@NonNull final TopicClient topicClient,
+            final ConsumerGroupClient consumerGroupClient, @NonNull final Duration timeout,
+            final Duration initialBackoff, final Duration maxBackoff) {
+        this.topicClient = topicClient;
+        this.consumerGroupClient = consumerGroupClient;
+        this.timeout = timeout;
+        this.initialBackoff = initialBackoff == null ? DEFAULT_INITIAL_BACKOFF : initialBackoff;
+        this.maxBackoff = maxBackoff == null ? DEFAULT_MAX_BACKOFF : maxBackoff;
+    }
+
+    /**
+     * Wait until none of the topics exists anymore.
+     *
+     * @param topics the topic names
+     * @throws KafkaAdminException if the topics still exist after the timeout
+     */
+    public void awaitTopicDeletion(final Collection<String> topics) {
+        this.awaitDeletion(topics, List.of());
+    }
+
+    /**
+     * Wait until none of the topics and consumer groups exists anymore.
+     *
+     * @param topics the topic names
+     * @param groupNames the consumer group names
+     * @throws KafkaAdminException if any of the topics or consumer groups still exists after the timeout
+     */
+    public void awaitDeletion(final Collection<String> topics, final Collection<String> groupNames) {
+        final Instant deadline = Instant.now().plus(this.timeout);
+        Duration backoff = this.initialBackoff;
+        while (true) {
+            final Collection<String> remainingTopics = this.getRemainingTopics(topics);
+            final Collection<String> remainingGroups = this.getRemainingGroups(groupNames);
+            if (remainingTopics.isEmpty() && remainingGroups.isEmpty()) {
+                log.info("Deletion of topics {} and consumer groups {} is complete", topics, groupNames);
+                return;
+            }
+            final Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                throw new KafkaAdminException(String.format(
+                        "Topics %s and consumer groups %s still exist after %s", remainingTopics, remainingGroups,
+                        this.timeout));
+            }
+            log.debug("Waiting for deletion of topics {} and consumer groups {}", remainingTopics, remainingGroups);
+            sleep(backoff.compareTo(remaining) < 0 ? backoff : remaining);
+            final Duration nextBackoff = backoff.multipliedBy(2L);
+            backoff = nextBackoff.compareTo(this.maxBackoff) < 0 ? nextBackoff : this.maxBackoff;
+        }
+    }
+
+    private Collection<String> getRemainingTopics(final Collection<String> topics) {
+        if (topics.isEmpty()) {
+            return List.of();
+        }
+        final Collection<String> existingTopics = this.topicClient.listTopics();
+        return topics.stream()
+                .filter(existingTopics::contains)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<String> getRemainingGroups(final Collection<String> groupNames) {
+        if (groupNames.isEmpty()) {
+            return List.of();
+        }
+        Preconditions.checkState(this.consumerGroupClient != null,
+                "A consumer group client is required to wait for the deletion of consumer groups");
+        return this.consumerGroupClient.existsAll(groupNames).entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaAdminException("Interrupted while waiting for deletion", e);
+        }
+    }
+}
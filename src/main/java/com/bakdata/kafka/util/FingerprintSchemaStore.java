@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import org.apache.avro.Schema;
+import org.apache.avro.message.SchemaStore;
+
+/**
+ * {@link SchemaStore} that resolves Avro schemas by their 64-bit parsing fingerprint as used by Avro's single-object
+ * encoding. Writers register their schemas so that readers can resolve data written with any known schema.
+ *
+ * @see TopicSchemaStore
+ */
+public interface FingerprintSchemaStore extends SchemaStore {
+    /**
+     * Create a store that keeps schemas in memory only. Schemas are therefore only known to the JVM registering them.
+     *
+     * @return in-memory {@code FingerprintSchemaStore}
+     */
+    static FingerprintSchemaStore inMemory() {
+        final SchemaStore.Cache cache = new SchemaStore.Cache();
+        return new FingerprintSchemaStore() {
+            @Override
+            public void register(final Schema schema) {
+                cache.addSchema(schema);
+            }
+
+            @Override
+            public Schema findByFingerprint(final long fingerprint) {
+                return cache.findByFingerprint(fingerprint);
+            }
+        };
+    }
+
+    /**
+     * Register a schema, so that data written with it can be resolved by its fingerprint. Registering a known schema
+     * has no effect.
+     *
+     * @param schema schema to register
+     */
+    void register(Schema schema);
+}
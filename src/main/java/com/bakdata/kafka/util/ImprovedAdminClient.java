@@ -45,6 +45,7 @@ public final class ImprovedAdminClient implements Closeable {
     private final @NonNull AdminClient adminClient;
     @Getter
     private final @NonNull SchemaRegistryClient schemaRegistryClient;
+    @Getter
     private final @NonNull Duration timeout;
 
     @Builder
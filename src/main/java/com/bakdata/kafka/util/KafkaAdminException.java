@@ -29,6 +29,10 @@ package com.bakdata.kafka.util;
  */
 public class KafkaAdminException extends RuntimeException {
 
+    KafkaAdminException(final String message) {
+        super(message);
+    }
+
     KafkaAdminException(final String message, final Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.common.KafkaFuture;
+
+/**
+ * Helpers to bridge {@link KafkaFuture} returned by the Kafka admin client and {@link CompletableFuture}.
+ */
+final class KafkaFutures {
+
+    private KafkaFutures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Convert a {@link KafkaFuture} into a {@link CompletableFuture}. The returned future is completed by the thread
+     * completing the {@code KafkaFuture}, i.e., usually the network thread of the admin client. Dependent stages
+     * should therefore not block.
+     *
+     * @param kafkaFuture future to convert
+     * @param <T> type of value
+     * @return {@code CompletableFuture} completed with the result of {@code kafkaFuture}
+     */
+    static <T> CompletableFuture<T> toCompletableFuture(final KafkaFuture<? extends T> kafkaFuture) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        kafkaFuture.whenComplete((value, error) -> {
+            if (error == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(error);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Wait for all futures to complete. If any future fails, the returned future fails with a
+     * {@link KafkaAdminException} listing the keys of all failed futures. The first failure is used as cause and all
+     * others are added as suppressed exceptions.
+     *
+     * @param futures futures by key
+     * @param message error message that is prepended to the failed keys
+     * @param <K> type of key
+     * @param <V> type of value
+     * @return future that completes with the results of all futures
+     */
+    static <K, V> CompletableFuture<Map<K, V>> allOf(final Map<K, ? extends CompletableFuture<V>> futures,
+            final String message) {
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> {
+                    final Map<K, V> results = new LinkedHashMap<>();
+                    final Map<K, Throwable> failures = new LinkedHashMap<>();
+                    futures.forEach((key, future) -> {
+                        try {
+                            results.put(key, future.join());
+                        } catch (final CompletionException | CancellationException e) {
+                            failures.put(key, unwrap(e));
+                        }
+                    });
+                    if (!failures.isEmpty()) {
+                        throw createException(message + failures.keySet(), failures);
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Wait for a future to complete and translate all errors into a {@link KafkaAdminException}.
+     *
+     * @param future future to wait for
+     * @param timeout maximum time to wait
+     * @param errorMessage message of the thrown exception
+     * @param <T> type of value
+     * @return result of the future
+     */
+    static <T> T get(final CompletableFuture<T> future, final Duration timeout, final String errorMessage) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KafkaAdminException(errorMessage, ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof KafkaAdminException) {
+                throw (KafkaAdminException) ex.getCause();
+            }
+            throw new KafkaAdminException(errorMessage, ex);
+        } catch (final TimeoutException ex) {
+            throw new KafkaAdminException(errorMessage, ex);
+        }
+    }
+
+    /**
+     * Unwrap exceptions thrown by completion stages.
+     *
+     * @param throwable exception passed to or thrown by a completion stage
+     * @return the actual cause
+     */
+    static Throwable unwrap(final Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static KafkaAdminException createException(final String message,
+            final Map<?, ? extends Throwable> failures) {
+        final Iterator<? extends Throwable> causes = failures.values().iterator();
+        final KafkaAdminException exception = new KafkaAdminException(message, causes.next());
+        causes.forEachRemaining(exception::addSuppressed);
+        return exception;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Contains all information required to create a new topic, i.e., number of partitions, replication factor and topic
+ * configuration. The defaults of the broker are used for settings that are not specified.
+ */
+@Value
+@Builder
+public class NewTopicSpec {
+    Integer partitions;
+    Short replicationFactor;
+    @Builder.Default
+    @NonNull Map<String, String> config = Map.of();
+
+    public Optional<Integer> getPartitions() {
+        return Optional.ofNullable(this.partitions);
+    }
+
+    public Optional<Short> getReplicationFactor() {
+        return Optional.ofNullable(this.replicationFactor);
+    }
+
+    public static class NewTopicSpecBuilder {
+        /**
+         * Set number of partitions and replication factor.
+         *
+         * @param settings settings of the new topic
+         * @return this builder
+         */
+        public NewTopicSpecBuilder settings(final TopicSettings settings) {
+            return this.partitions(settings.getPartitions())
+                    .replicationFactor(settings.getReplicationFactor());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of schemas by id and of schema ids by subject and schema. Lookups are lock-free and do not compute canonical
+ * schema strings, so that the cache can be shared by all threads of a JVM. If the cache is backed by a file, it is
+ * loaded from the file on creation, so that schemas are available without requests to the schema registry after a
+ * restart. New entries are not written on the lookup path but flushed to the file periodically by a background thread
+ * and on {@link #close()}. Schemas with references and non-Avro schemas are only cached in memory.
+ * <p>
+ * The cache is best effort: if the file or single entries cannot be read or the file cannot be written, a warning is
+ * logged and the cache continues in memory.
+ */
+@Slf4j
+public final class PersistentSchemaCache implements Closeable {
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1L);
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "schema-cache-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final String SCHEMA_PREFIX = "schema.";
+    private static final String SUBJECTS_PREFIX = "subjects.";
+    private static final String SUBJECT_SEPARATOR = ",";
+    private final Path file;
+    private final Map<Integer, ParsedSchema> schemas = new ConcurrentHashMap<>();
+    /**
+     * Schema id by schema by subject
+     */
+    private final Map<String, Map<ParsedSchema, Integer>> ids = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private ScheduledFuture<?> scheduledFlush;
+
+    private PersistentSchemaCache(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Create a cache that is only kept in memory.
+     *
+     * @return empty {@code PersistentSchemaCache}
+     */
+    public static PersistentSchemaCache inMemory() {
+        return new PersistentSchemaCache(null);
+    }
+
+    /**
+     * Create a cache that is backed by a file. Entries previously written to the file are loaded. New entries are
+     * flushed every {@link #DEFAULT_FLUSH_INTERVAL}.
+     *
+     * @param file file to load entries from and to write entries to
+     * @return {@code PersistentSchemaCache}
+     */
+    public static PersistentSchemaCache load(final @NonNull Path file) {
+        return load(file, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Create a cache that is backed by a file. Entries previously written to the file are loaded.
+     *
+     * @param file file to load entries from and to write entries to
+     * @param flushInterval interval in which new entries are written to the file
+     * @return {@code PersistentSchemaCache}
+     */
+    public static PersistentSchemaCache load(final @NonNull Path file, final @NonNull Duration flushInterval) {
+        final PersistentSchemaCache cache = new PersistentSchemaCache(file);
+        cache.read();
+        final long interval = flushInterval.toMillis();
+        cache.scheduledFlush =
+                FLUSHER.scheduleWithFixedDelay(cache::flush, interval, interval, TimeUnit.MILLISECONDS);
+        return cache;
+    }
+
+    private static boolean isPersistable(final ParsedSchema schema) {
+        return schema instanceof AvroSchema && schema.references().isEmpty();
+    }
+
+    /**
+     * Get a schema by id.
+     *
+     * @param id id of schema
+     * @return schema if cached
+     */
+    public Optional<ParsedSchema> getSchema(final int id) {
+        return Optional.ofNullable(this.schemas.get(id));
+    }
+
+    /**
+     * Get the id of a schema registered for a subject.
+     *
+     * @param subject subject the schema is registered for
+     * @param schema registered schema
+     * @return id of schema if cached
+     */
+    public Optional<Integer> getId(final String subject, final ParsedSchema schema) {
+        return Optional.ofNullable(this.ids.get(subject))
+                .map(subjectIds -> subjectIds.get(schema));
+    }
+
+    /**
+     * Add a schema.
+     *
+     * @param id id of schema
+     * @param schema schema
+     */
+    public void put(final int id, final ParsedSchema schema) {
+        if (this.schemas.putIfAbsent(id, schema) == null && isPersistable(schema)) {
+            this.dirty.set(true);
+        }
+    }
+
+    /**
+     * Add a schema that is registered for a subject.
+     *
+     * @param subject subject the schema is registered for
+     * @param schema schema
+     * @param id id of schema
+     */
+    public void put(final String subject, final ParsedSchema schema, final int id) {
+        this.schemas.putIfAbsent(id, schema);
+        final Integer previous = this.ids.computeIfAbsent(subject, ignored -> new ConcurrentHashMap<>())
+                .put(schema, id);
+        if ((previous == null || previous != id) && isPersistable(schema)) {
+            this.dirty.set(true);
+        }
+    }
+
+    /**
+     * Get the number of cached schemas.
+     *
+     * @return number of cached schemas
+     */
+    public int size() {
+        return this.schemas.size();
+    }
+
+    /**
+     * Remove all entries. The file is kept until new entries are added.
+     */
+    public void clear() {
+        this.schemas.clear();
+        this.ids.clear();
+    }
+
+    /**
+     * Write all entries to the file if entries have been added since the last flush.
+     */
+    public void flush() {
+        if (this.file != null && this.dirty.compareAndSet(true, false)) {
+            this.write();
+        }
+    }
+
+    /**
+     * Stop flushing periodically and flush remaining entries.
+     */
+    @Override
+    public void close() {
+        if (this.scheduledFlush != null) {
+            this.scheduledFlush.cancel(false);
+        }
+        this.flush();
+    }
+
+    private void read() {
+        if (!Files.exists(this.file)) {
+            return;
+        }
+        final Properties properties = new Properties();
+        try (final InputStream in = Files.newInputStream(this.file)) {
+            properties.load(in);
+        } catch (final IOException e) {
+            log.warn("Failed to load schema cache from {}", this.file, e);
+            return;
+        }
+        for (final String key : properties.stringPropertyNames()) {
+            if (key.startsWith(SCHEMA_PREFIX)) {
+                try {
+                    final int id = Integer.parseInt(key.substring(SCHEMA_PREFIX.length()));
+                    this.schemas.put(id, new AvroSchema(properties.getProperty(key)));
+                } catch (final RuntimeException e) {
+                    log.warn("Skipping corrupt entry {} of schema cache {}", key, this.file, e);
+                }
+            }
+        }
+        for (final String key : properties.stringPropertyNames()) {
+            if (key.startsWith(SUBJECTS_PREFIX)) {
+                try {
+                    this.readSubjects(Integer.parseInt(key.substring(SUBJECTS_PREFIX.length())),
+                            properties.getProperty(key));
+                } catch (final NumberFormatException e) {
+                    log.warn("Skipping corrupt entry {} of schema cache {}", key, this.file, e);
+                }
+            }
+        }
+        log.info("Loaded {} schemas from schema cache {}", this.schemas.size(), this.file);
+    }
+
+    private void readSubjects(final int id, final String subjects) {
+        final ParsedSchema schema = this.schemas.get(id);
+        if (schema != null) {
+            Arrays.stream(subjects.split(SUBJECT_SEPARATOR))
+                    .filter(subject -> !subject.isEmpty())
+                    .forEach(subject -> this.ids.computeIfAbsent(subject, ignored -> new ConcurrentHashMap<>())
+                            .put(schema, id));
+        }
+    }
+
+    private synchronized void write() {
+        final Properties properties = new Properties();
+        this.schemas.forEach((id, schema) -> {
+            if (isPersistable(schema)) {
+                properties.setProperty(SCHEMA_PREFIX + id, schema.canonicalString());
+            }
+        });
+        final Map<Integer, String> subjectsById = new HashMap<>();
+        this.ids.forEach((subject, subjectIds) -> subjectIds.forEach((schema, id) -> {
+            if (isPersistable(schema)) {
+                subjectsById.merge(id, subject, (existing, added) -> existing + SUBJECT_SEPARATOR + added);
+            }
+        }));
+        subjectsById.forEach((id, subjects) -> properties.setProperty(SUBJECTS_PREFIX + id, subjects));
+        try {
+            PropertiesFiles.storeAtomically(this.file, properties);
+        } catch (final IOException e) {
+            log.warn("Failed to write schema cache to {}", this.file, e);
+            // retry with the next flush
+            this.dirty.set(true);
+        }
+    }
+}
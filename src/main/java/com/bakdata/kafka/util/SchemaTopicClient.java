@@ -27,13 +27,26 @@ package com.bakdata.kafka.util;
 import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
 import java.io.Closeable;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +55,13 @@ import org.apache.kafka.clients.admin.AdminClient;
 @Slf4j
 @RequiredArgsConstructor
 public final class SchemaTopicClient implements Closeable {
+    /**
+     * Maximum number of schema registry subjects that are reset concurrently.
+     */
+    public static final int MAX_SCHEMA_REGISTRY_PARALLELISM = 8;
+    private static final String KEY_SUFFIX = "-key";
+    private static final String VALUE_SUFFIX = "-value";
+    @Getter
     private final @NonNull TopicClient topicClient;
     private final @NonNull SchemaRegistryClient schemaRegistryClient;
 
@@ -62,7 +82,8 @@ public final class SchemaTopicClient implements Closeable {
     }
 
     /**
-     * Creates a new {@link CachedSchemaRegistryClient} using the specified configuration.
+     * Creates a new {@link CachedSchemaRegistryClient} using the specified configuration. The capacity of the cache is
+     * configured by {@link AbstractKafkaSchemaSerDeConfig#MAX_SCHEMAS_PER_SUBJECT_CONFIG}.
      *
      * @param configs properties passed to {@link CachedSchemaRegistryClient#CachedSchemaRegistryClient(String, int,
      * Map)}
@@ -73,7 +94,13 @@ public final class SchemaTopicClient implements Closeable {
             @NonNull final String schemaRegistryUrl) {
         final Map<String, Object> originals = new HashMap<>();
         configs.forEach((key, value) -> originals.put(key.toString(), value));
-        return new CachedSchemaRegistryClient(schemaRegistryUrl, 100, originals);
+        return new CachedSchemaRegistryClient(schemaRegistryUrl, getCacheCapacity(originals), originals);
+    }
+
+    static int getCacheCapacity(final Map<String, ?> configs) {
+        return Optional.ofNullable(configs.get(AbstractKafkaSchemaSerDeConfig.MAX_SCHEMAS_PER_SUBJECT_CONFIG))
+                .map(capacity -> Integer.parseInt(capacity.toString()))
+                .orElse(AbstractKafkaSchemaSerDeConfig.MAX_SCHEMAS_PER_SUBJECT_DEFAULT);
     }
 
     /**
@@ -86,31 +113,150 @@ public final class SchemaTopicClient implements Closeable {
         this.resetSchemaRegistry(topic);
     }
 
+    /**
+     * Asynchronously delete a topic if it exists and reset the corresponding schema registry subjects.
+     *
+     * @param topic the topic name
+     * @return future that completes when the topic and its subjects are deleted
+     * @see #deleteTopicAndResetSchemaRegistry(String)
+     */
+    public CompletableFuture<Void> deleteTopicAndResetSchemaRegistryAsync(final String topic) {
+        return this.deleteTopicsAndResetSchemaRegistryAsync(List.of(topic));
+    }
+
+    /**
+     * Delete topics if they exist and reset the corresponding schema registry subjects. All topics are deleted in a
+     * single batch and the schema registry subjects are reset concurrently afterwards.
+     *
+     * @param topics the topic names
+     * @see TopicClient#deleteTopicsIfExist(Collection)
+     * @see #resetSchemaRegistry(Collection)
+     */
+    public void deleteTopicsAndResetSchemaRegistry(final Collection<String> topics) {
+        this.topicClient.deleteTopicsIfExist(topics);
+        this.resetSchemaRegistry(topics);
+    }
+
+    /**
+     * Asynchronously delete topics if they exist and reset the corresponding schema registry subjects.
+     *
+     * @param topics the topic names
+     * @return future that completes when the topics and their subjects are deleted
+     * @see #deleteTopicsAndResetSchemaRegistry(Collection)
+     */
+    public CompletableFuture<Void> deleteTopicsAndResetSchemaRegistryAsync(final Collection<String> topics) {
+        return this.topicClient.deleteTopicsIfExistAsync(topics)
+                .thenCompose(ignored -> this.resetSchemaRegistryAsync(topics));
+    }
+
     /**
      * Delete key and value schemas associated with a topic from the schema registry.
      *
      * @param topic the topic name
      */
     public void resetSchemaRegistry(final String topic) {
-        log.info("Resetting schema registry for topic '{}'", topic);
-        try {
-            final Collection<String> allSubjects = this.schemaRegistryClient.getAllSubjects();
-            final String keySubject = topic + "-key";
-            if (allSubjects.contains(keySubject)) {
-                this.schemaRegistryClient.deleteSubject(keySubject);
-                log.info("Cleaned key schema of topic {}", topic);
-            } else {
-                log.info("No key schema for topic {} available", topic);
-            }
-            final String valueSubject = topic + "-value";
-            if (allSubjects.contains(valueSubject)) {
-                this.schemaRegistryClient.deleteSubject(valueSubject);
-                log.info("Cleaned value schema of topic {}", topic);
-            } else {
-                log.info("No value schema for topic {} available", topic);
+        this.resetSchemaRegistry(List.of(topic));
+    }
+
+    /**
+     * Delete key and value schemas associated with topics from the schema registry. All subjects are retrieved from
+     * the schema registry only once and matched against the topics. Subjects are deleted concurrently.
+     *
+     * @param topics the topic names
+     */
+    public void resetSchemaRegistry(final Collection<String> topics) {
+        await(this.resetSchemaRegistryAsync(topics));
+    }
+
+    /**
+     * Asynchronously delete key and value schemas associated with topics from the schema registry. Requests to the
+     * schema registry are executed on a bounded pool of {@link #MAX_SCHEMA_REGISTRY_PARALLELISM} threads, which is
+     * shut down once the returned future completes.
+     *
+     * @param topics the topic names
+     * @return future that completes when all subjects are deleted
+     * @see #resetSchemaRegistry(Collection)
+     */
+    public CompletableFuture<Void> resetSchemaRegistryAsync(final Collection<String> topics) {
+        if (topics.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Resetting schema registry for topics {}", topics);
+        final ExecutorService executor = Executors.newFixedThreadPool(MAX_SCHEMA_REGISTRY_PARALLELISM);
+        return CompletableFuture.supplyAsync(() -> this.indexSubjects(topics), executor)
+                .thenCompose(subjectsByTopic -> this.deleteSubjectsAsync(getSubjects(topics, subjectsByTopic),
+                        executor))
+                .whenComplete((ignored, error) -> executor.shutdown());
+    }
+
+    private static List<String> getSubjects(final Collection<String> topics,
+            final Map<String, Collection<String>> subjectsByTopic) {
+        final List<String> subjects = new ArrayList<>();
+        for (final String topic : topics) {
+            final Collection<String> topicSubjects = subjectsByTopic.getOrDefault(topic, List.of());
+            if (topicSubjects.isEmpty()) {
+                log.info("No schemas for topic {} available", topic);
             }
+            subjects.addAll(topicSubjects);
+        }
+        return subjects;
+    }
+
+    private Map<String, Collection<String>> indexSubjects(final Collection<String> topics) {
+        final Set<String> topicSet = new HashSet<>(topics);
+        final Collection<String> allSubjects;
+        try {
+            allSubjects = this.schemaRegistryClient.getAllSubjects();
+        } catch (final IOException | RestClientException e) {
+            throw new RuntimeException("Could not reset schema registry for topics " + topics, e);
+        }
+        final Map<String, Collection<String>> subjectsByTopic = new HashMap<>();
+        for (final String subject : allSubjects) {
+            getTopic(subject)
+                    .filter(topicSet::contains)
+                    .ifPresent(topic -> subjectsByTopic.computeIfAbsent(topic, t -> new ArrayList<>()).add(subject));
+        }
+        return subjectsByTopic;
+    }
+
+    private static Optional<String> getTopic(final String subject) {
+        if (subject.endsWith(KEY_SUFFIX)) {
+            return Optional.of(subject.substring(0, subject.length() - KEY_SUFFIX.length()));
+        }
+        if (subject.endsWith(VALUE_SUFFIX)) {
+            return Optional.of(subject.substring(0, subject.length() - VALUE_SUFFIX.length()));
+        }
+        return Optional.empty();
+    }
+
+    private CompletableFuture<Void> deleteSubjectsAsync(final Collection<String> subjects, final Executor executor) {
+        final Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        for (final String subject : subjects) {
+            results.put(subject, CompletableFuture.runAsync(() -> this.deleteSubject(subject), executor));
+        }
+        return KafkaFutures.allOf(results, "Could not delete schema subjects ").thenApply(ignored -> null);
+    }
+
+    private void deleteSubject(final String subject) {
+        try {
+            this.schemaRegistryClient.deleteSubject(subject);
+            log.info("Cleaned schema subject {}", subject);
         } catch (final IOException | RestClientException e) {
-            throw new RuntimeException("Could not reset schema registry for topic " + topic, e);
+            throw new RuntimeException("Could not delete schema subject " + subject, e);
+        }
+    }
+
+    private static void await(final CompletableFuture<?> future) {
+        try {
+            future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while resetting schema registry", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Could not reset schema registry", e.getCause());
         }
     }
 
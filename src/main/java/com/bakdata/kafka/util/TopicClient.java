@@ -24,27 +24,42 @@
 
 package com.bakdata.kafka.util;
 
+import static com.bakdata.kafka.util.KafkaFutures.allOf;
+import static com.bakdata.kafka.util.KafkaFutures.get;
+import static com.bakdata.kafka.util.KafkaFutures.toCompletableFuture;
+import static com.bakdata.kafka.util.KafkaFutures.unwrap;
+
 import java.io.Closeable;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.AlterConfigOp.OpType;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.ConfigResource.Type;
 import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 
 /**
- * This class offers helpers to interact with Kafka topics.
+ * This class offers helpers to interact with Kafka topics. Each operation is available as a blocking method and as an
+ * asynchronous method returning a {@link CompletableFuture}. The blocking methods wait for the result of the
+ * asynchronous methods using the configured timeout.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -75,6 +90,23 @@ public final class TopicClient implements Closeable {
         return new TopicClient(AdminClient.create(configs), timeout);
     }
 
+    private static TopicSettings toSettings(final TopicDescription description) {
+        final List<TopicPartitionInfo> partitions = description.partitions();
+        final int replicationFactor = partitions.stream()
+                .findFirst()
+                .map(TopicPartitionInfo::replicas)
+                .map(List::size)
+                .orElseThrow(() -> new IllegalStateException("Topic " + description.name() + " has no partitions"));
+        return TopicSettings.builder()
+                .replicationFactor((short) replicationFactor)
+                .partitions(partitions.size())
+                .build();
+    }
+
+    private static boolean isUnknownTopic(final Throwable error) {
+        return unwrap(error) instanceof UnknownTopicOrPartitionException;
+    }
+
     /**
      * Creates a new Kafka topic with the specified number of partitions if it does not yet exist. If the topic exists,
      * its configuration is not updated.
@@ -87,11 +119,28 @@ public final class TopicClient implements Closeable {
      */
     public void createIfNotExists(final String topicName, final TopicSettings settings,
             final Map<String, String> config) {
-        if (this.exists(topicName)) {
-            log.info("Topic {} already exists, no need to create.", topicName);
-        } else {
-            this.createTopic(topicName, settings, config);
-        }
+        get(this.createIfNotExistsAsync(topicName, settings, config), this.timeout,
+                "Failed to create topic " + topicName);
+    }
+
+    /**
+     * Asynchronously creates a new Kafka topic with the specified number of partitions if it does not yet exist.
+     *
+     * @param topicName the topic name
+     * @param settings settings for number of partitions and replicationFactor
+     * @param config topic configuration
+     * @return future that completes when the topic exists
+     * @see #createIfNotExists(String, TopicSettings, Map)
+     */
+    public CompletableFuture<Void> createIfNotExistsAsync(final String topicName, final TopicSettings settings,
+            final Map<String, String> config) {
+        return this.existsAsync(topicName).thenCompose(exists -> {
+            if (exists) {
+                log.info("Topic {} already exists, no need to create.", topicName);
+                return CompletableFuture.completedFuture(null);
+            }
+            return this.createTopicAsync(topicName, settings, config);
+        });
     }
 
     /**
@@ -100,17 +149,19 @@ public final class TopicClient implements Closeable {
      * @param topicName the topic name
      */
     public void deleteTopic(final String topicName) {
+        get(this.deleteTopicAsync(topicName), this.timeout, "Failed to delete topic " + topicName);
+    }
+
+    /**
+     * Asynchronously delete a Kafka topic.
+     *
+     * @param topicName the topic name
+     * @return future that completes when the topic is deleted
+     * @see #deleteTopic(String)
+     */
+    public CompletableFuture<Void> deleteTopicAsync(final String topicName) {
         log.info("Deleting topic '{}'", topicName);
-        try {
-            this.adminClient.deleteTopics(List.of(topicName))
-                    .all()
-                    .get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to delete topic " + topicName, ex);
-        } catch (final ExecutionException | TimeoutException ex) {
-            throw new KafkaAdminException("Failed to delete topic " + topicName, ex);
-        }
+        return toCompletableFuture(this.adminClient.deleteTopics(List.of(topicName)).all());
     }
 
     /**
@@ -120,27 +171,21 @@ public final class TopicClient implements Closeable {
      * @return settings of topic including number of partitions and replicationFactor
      */
     public TopicSettings describe(final String topicName) {
-        try {
-            final Map<String, KafkaFuture<TopicDescription>> kafkaTopicMap =
-                    this.adminClient.describeTopics(List.of(topicName)).values();
-            final TopicDescription description =
-                    kafkaTopicMap.get(topicName).get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-            final List<TopicPartitionInfo> partitions = description.partitions();
-            final int replicationFactor = partitions.stream()
-                    .findFirst()
-                    .map(TopicPartitionInfo::replicas)
-                    .map(List::size)
-                    .orElseThrow(() -> new IllegalStateException("Topic " + topicName + " has no partitions"));
-            return TopicSettings.builder()
-                    .replicationFactor((short) replicationFactor)
-                    .partitions(partitions.size())
-                    .build();
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to retrieve description of topic " + topicName, e);
-        } catch (final ExecutionException | TimeoutException e) {
-            throw new KafkaAdminException("Failed to retrieve description of topic " + topicName, e);
-        }
+        return get(this.describeAsync(topicName), this.timeout,
+                "Failed to retrieve description of topic " + topicName);
+    }
+
+    /**
+     * Asynchronously describes the current configuration of a Kafka topic.
+     *
+     * @param topicName the topic name
+     * @return future of settings of topic including number of partitions and replicationFactor
+     * @see #describe(String)
+     */
+    public CompletableFuture<TopicSettings> describeAsync(final String topicName) {
+        final KafkaFuture<TopicDescription> description =
+                this.adminClient.describeTopics(List.of(topicName)).values().get(topicName);
+        return toCompletableFuture(description).thenApply(TopicClient::toSettings);
     }
 
     @Override
@@ -155,23 +200,29 @@ public final class TopicClient implements Closeable {
      * @return whether a Kafka topic with the specified name exists or not
      */
     public boolean exists(final String topicName) {
-        try {
-            final Map<String, KafkaFuture<TopicDescription>> kafkaTopicMap =
-                    this.adminClient.describeTopics(List.of(topicName)).values();
-            kafkaTopicMap.get(topicName).get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-            return true;
-        } catch (final ExecutionException e) {
-            if (e.getCause() instanceof UnknownTopicOrPartitionException) {
+        return get(this.existsAsync(topicName), this.timeout,
+                "Failed to check if Kafka topic " + topicName + " exists");
+    }
+
+    /**
+     * Asynchronously checks whether a Kafka topic exists.
+     *
+     * @param topicName the topic name
+     * @return future of whether a Kafka topic with the specified name exists or not
+     * @see #exists(String)
+     */
+    public CompletableFuture<Boolean> existsAsync(final String topicName) {
+        final KafkaFuture<TopicDescription> description =
+                this.adminClient.describeTopics(List.of(topicName)).values().get(topicName);
+        return toCompletableFuture(description).handle((ignored, error) -> {
+            if (error == null) {
+                return true;
+            }
+            if (isUnknownTopic(error)) {
                 return false;
-            } else {
-                throw new KafkaAdminException("Failed to check if Kafka topic " + topicName + " exists", e);
             }
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to check if Kafka topic " + topicName + " exists", e);
-        } catch (final TimeoutException e) {
-            throw new KafkaAdminException("Failed to check if Kafka topic " + topicName + " exists", e);
-        }
+            throw new CompletionException(error);
+        });
     }
 
     /**
@@ -182,19 +233,22 @@ public final class TopicClient implements Closeable {
      * @param config topic configuration
      */
     public void createTopic(final String topicName, final TopicSettings settings, final Map<String, String> config) {
-        try {
-            final NewTopic newTopic =
-                    new NewTopic(topicName, settings.getPartitions(), settings.getReplicationFactor());
-            this.adminClient
-                    .createTopics(List.of(newTopic.configs(config)))
-                    .all()
-                    .get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to create topic " + topicName, ex);
-        } catch (final ExecutionException | TimeoutException ex) {
-            throw new KafkaAdminException("Failed to create topic " + topicName, ex);
-        }
+        get(this.createTopicAsync(topicName, settings, config), this.timeout, "Failed to create topic " + topicName);
+    }
+
+    /**
+     * Asynchronously creates a new Kafka topic with the specified number of partitions.
+     *
+     * @param topicName the topic name
+     * @param settings settings for number of partitions and replicationFactor
+     * @param config topic configuration
+     * @return future that completes when the topic is created
+     * @see #createTopic(String, TopicSettings, Map)
+     */
+    public CompletableFuture<Void> createTopicAsync(final String topicName, final TopicSettings settings,
+            final Map<String, String> config) {
+        final NewTopic newTopic = new NewTopic(topicName, settings.getPartitions(), settings.getReplicationFactor());
+        return toCompletableFuture(this.adminClient.createTopics(List.of(newTopic.configs(config))).all());
     }
 
     /**
@@ -203,17 +257,17 @@ public final class TopicClient implements Closeable {
      * @return name of all existing Kafka topics
      */
     public Collection<String> listTopics() {
-        try {
-            return this.adminClient
-                    .listTopics()
-                    .names()
-                    .get(this.timeout.toSeconds(), TimeUnit.SECONDS);
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new KafkaAdminException("Failed to list topics", ex);
-        } catch (final ExecutionException | TimeoutException ex) {
-            throw new KafkaAdminException("Failed to list topics", ex);
-        }
+        return get(this.listTopicsAsync(), this.timeout, "Failed to list topics");
+    }
+
+    /**
+     * Asynchronously list Kafka topics.
+     *
+     * @return future of name of all existing Kafka topics
+     * @see #listTopics()
+     */
+    public CompletableFuture<Collection<String>> listTopicsAsync() {
+        return toCompletableFuture(this.adminClient.listTopics().names());
     }
 
     /**
@@ -222,8 +276,277 @@ public final class TopicClient implements Closeable {
      * @param topic the topic name
      */
     public void deleteTopicIfExists(final String topic) {
-        if (this.exists(topic)) {
-            this.deleteTopic(topic);
+        get(this.deleteTopicIfExistsAsync(topic), this.timeout, "Failed to delete topic " + topic);
+    }
+
+    /**
+     * Asynchronously delete a Kafka topic only if it exists.
+     *
+     * @param topic the topic name
+     * @return future that completes when the topic does not exist anymore
+     * @see #deleteTopicIfExists(String)
+     */
+    public CompletableFuture<Void> deleteTopicIfExistsAsync(final String topic) {
+        return this.existsAsync(topic)
+                .thenCompose(exists -> exists ? this.deleteTopicAsync(topic) : CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Delete Kafka topics only if they exist. Existence of all topics is checked with a single describe request and
+     * all existing topics are deleted with a single delete request. Failures are reported for each topic.
+     *
+     * @param topics the topic names
+     */
+    public void deleteTopicsIfExist(final Collection<String> topics) {
+        get(this.deleteTopicsIfExistAsync(topics), this.timeout, "Failed to delete topics " + topics);
+    }
+
+    /**
+     * Asynchronously delete Kafka topics only if they exist.
+     *
+     * @param topics the topic names
+     * @return future that completes when none of the topics exists anymore
+     * @see #deleteTopicsIfExist(Collection)
+     */
+    public CompletableFuture<Void> deleteTopicsIfExistAsync(final Collection<String> topics) {
+        return this.filterExistingTopicsAsync(topics).thenCompose(this::deleteTopicsAsync);
+    }
+
+    private CompletableFuture<Void> deleteTopicsAsync(final Collection<String> topics) {
+        if (topics.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Deleting topics {}", topics);
+        final Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        this.adminClient.deleteTopics(topics).values().forEach((topicName, result) ->
+                results.put(topicName, toCompletableFuture(result).whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        log.info("Deleted topic '{}'", topicName);
+                    } else {
+                        log.error("Failed to delete topic '{}'", topicName, error);
+                    }
+                })));
+        return allOf(results, "Failed to delete topics ").thenApply(ignored -> null);
+    }
+
+    private CompletableFuture<Collection<String>> filterExistingTopicsAsync(final Collection<String> topics) {
+        return this.existsAllAsync(topics)
+                .thenApply(exists -> exists.entrySet().stream()
+                        .filter(entry -> {
+                            if (!entry.getValue()) {
+                                log.info("Topic '{}' does not exist, no need to delete.", entry.getKey());
+                            }
+                            return entry.getValue();
+                        })
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Checks whether Kafka topics exist. All topics are checked with a single request.
+     *
+     * @param topicNames the topic names
+     * @return whether a Kafka topic exists or not for each topic name
+     */
+    public Map<String, Boolean> existsAll(final Collection<String> topicNames) {
+        return get(this.existsAllAsync(topicNames), this.timeout,
+                "Failed to check if Kafka topics " + topicNames + " exist");
+    }
+
+    /**
+     * Asynchronously checks whether Kafka topics exist. All topics are checked with a single request.
+     *
+     * @param topicNames the topic names
+     * @return future of whether a Kafka topic exists or not for each topic name
+     * @see #existsAll(Collection)
+     */
+    public CompletableFuture<Map<String, Boolean>> existsAllAsync(final Collection<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        final Map<String, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+        this.adminClient.describeTopics(topicNames).values().forEach((topicName, description) ->
+                results.put(topicName, toCompletableFuture(description).handle((ignored, error) -> {
+                    if (error == null) {
+                        return true;
+                    }
+                    if (isUnknownTopic(error)) {
+                        return false;
+                    }
+                    throw new CompletionException(error);
+                })));
+        return allOf(results, "Failed to check if Kafka topics exist ");
+    }
+
+    /**
+     * Describes the current configuration of Kafka topics. All topics are described with a single request. Fails if
+     * any of the topics does not exist.
+     *
+     * @param topicNames the topic names
+     * @return settings of each topic including number of partitions and replicationFactor
+     */
+    public Map<String, TopicSettings> describeAll(final Collection<String> topicNames) {
+        return get(this.describeAllAsync(topicNames), this.timeout,
+                "Failed to retrieve description of topics " + topicNames);
+    }
+
+    /**
+     * Asynchronously describes the current configuration of Kafka topics. All topics are described with a single
+     * request.
+     *
+     * @param topicNames the topic names
+     * @return future of settings of each topic including number of partitions and replicationFactor
+     * @see #describeAll(Collection)
+     */
+    public CompletableFuture<Map<String, TopicSettings>> describeAllAsync(final Collection<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        final Map<String, CompletableFuture<TopicSettings>> results = new LinkedHashMap<>();
+        this.adminClient.describeTopics(topicNames).values().forEach((topicName, description) ->
+                results.put(topicName, toCompletableFuture(description).thenApply(TopicClient::toSettings)));
+        return allOf(results, "Failed to retrieve description of topics ");
+    }
+
+    /**
+     * Describes the current configuration of Kafka topics. All topics are described with a single request. In contrast
+     * to {@link #describeAll(Collection)}, missing topics do not cause a failure.
+     *
+     * @param topicNames the topic names
+     * @return settings of each topic or empty if the topic does not exist
+     */
+    public Map<String, Optional<TopicSettings>> describeIfExist(final Collection<String> topicNames) {
+        return get(this.describeIfExistAsync(topicNames), this.timeout,
+                "Failed to retrieve description of topics " + topicNames);
+    }
+
+    /**
+     * Asynchronously describes the current configuration of Kafka topics. All topics are described with a single
+     * request.
+     *
+     * @param topicNames the topic names
+     * @return future of settings of each topic or empty if the topic does not exist
+     * @see #describeIfExist(Collection)
+     */
+    public CompletableFuture<Map<String, Optional<TopicSettings>>> describeIfExistAsync(
+            final Collection<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
         }
+        final Map<String, CompletableFuture<Optional<TopicSettings>>> results = new LinkedHashMap<>();
+        this.adminClient.describeTopics(topicNames).values().forEach((topicName, description) ->
+                results.put(topicName, toCompletableFuture(description).handle((topicDescription, error) -> {
+                    if (error == null) {
+                        return Optional.of(toSettings(topicDescription));
+                    }
+                    if (isUnknownTopic(error)) {
+                        return Optional.empty();
+                    }
+                    throw new CompletionException(error);
+                })));
+        return allOf(results, "Failed to retrieve description of topics ");
+    }
+
+    /**
+     * Creates new Kafka topics. All topics are created with a single request. Failures are reported for each topic.
+     *
+     * @param topics specification of each topic by topic name
+     */
+    public void createTopics(final Map<String, NewTopicSpec> topics) {
+        get(this.createTopicsAsync(topics), this.timeout, "Failed to create topics " + topics.keySet());
+    }
+
+    /**
+     * Asynchronously creates new Kafka topics. All topics are created with a single request.
+     *
+     * @param topics specification of each topic by topic name
+     * @return future that completes when all topics are created
+     * @see #createTopics(Map)
+     */
+    public CompletableFuture<Void> createTopicsAsync(final Map<String, NewTopicSpec> topics) {
+        if (topics.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Collection<NewTopic> newTopics = topics.entrySet().stream()
+                .map(entry -> toNewTopic(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        log.info("Creating topics {}", topics.keySet());
+        final Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        this.adminClient.createTopics(newTopics).values().forEach((topicName, result) ->
+                results.put(topicName, toCompletableFuture(result)));
+        return allOf(results, "Failed to create topics ").thenApply(ignored -> null);
+    }
+
+    /**
+     * Increases the number of partitions of Kafka topics. All topics are updated with a single request.
+     *
+     * @param partitions new total number of partitions by topic name
+     */
+    public void increasePartitions(final Map<String, Integer> partitions) {
+        get(this.increasePartitionsAsync(partitions), this.timeout,
+                "Failed to increase partitions of topics " + partitions.keySet());
+    }
+
+    /**
+     * Asynchronously increases the number of partitions of Kafka topics. All topics are updated with a single
+     * request.
+     *
+     * @param partitions new total number of partitions by topic name
+     * @return future that completes when the partitions of all topics are increased
+     * @see #increasePartitions(Map)
+     */
+    public CompletableFuture<Void> increasePartitionsAsync(final Map<String, Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Map<String, NewPartitions> newPartitions = partitions.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> NewPartitions.increaseTo(entry.getValue())));
+        log.info("Increasing partitions of topics {}", partitions);
+        final Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        this.adminClient.createPartitions(newPartitions).values().forEach((topicName, result) ->
+                results.put(topicName, toCompletableFuture(result)));
+        return allOf(results, "Failed to increase partitions of topics ").thenApply(ignored -> null);
+    }
+
+    /**
+     * Sets configuration values of Kafka topics. Values that are not specified are left unchanged. All topics are
+     * updated with a single request.
+     *
+     * @param configs configuration values to set by topic name
+     */
+    public void updateConfigs(final Map<String, Map<String, String>> configs) {
+        get(this.updateConfigsAsync(configs), this.timeout, "Failed to update configs of topics " + configs.keySet());
+    }
+
+    /**
+     * Asynchronously sets configuration values of Kafka topics. All topics are updated with a single request.
+     *
+     * @param configs configuration values to set by topic name
+     * @return future that completes when the configs of all topics are updated
+     * @see #updateConfigs(Map)
+     */
+    public CompletableFuture<Void> updateConfigsAsync(final Map<String, Map<String, String>> configs) {
+        final Map<ConfigResource, Collection<AlterConfigOp>> operations = new LinkedHashMap<>();
+        configs.forEach((topicName, config) -> {
+            if (!config.isEmpty()) {
+                operations.put(new ConfigResource(Type.TOPIC, topicName), config.entrySet().stream()
+                        .map(entry -> new AlterConfigOp(new ConfigEntry(entry.getKey(), entry.getValue()),
+                                OpType.SET))
+                        .collect(Collectors.toList()));
+            }
+        });
+        if (operations.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Updating configs of topics {}", configs);
+        final Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        this.adminClient.incrementalAlterConfigs(operations).values().forEach((resource, result) ->
+                results.put(resource.name(), toCompletableFuture(result)));
+        return allOf(results, "Failed to update configs of topics ").thenApply(ignored -> null);
+    }
+
+    private static NewTopic toNewTopic(final String topicName, final NewTopicSpec spec) {
+        return new NewTopic(topicName, spec.getPartitions(), spec.getReplicationFactor())
+                .configs(spec.getConfig());
     }
 }
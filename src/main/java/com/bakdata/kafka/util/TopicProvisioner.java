@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class provisions topics from a declarative {@link TopicSpec}. Missing topics are created. Existing topics are
+ * reconciled: partitions are increased if the specified number of partitions is larger and specified configs are set.
+ * Partitions are never decreased and the replication factor of existing topics is never changed.
+ * <p>
+ * If the number of partitions or the replication factor is not specified, the maximum of the input topics is used so
+ * that applications consuming the provisioned topics stay co-partitioned with the inputs. If no input topic exists,
+ * the defaults of the broker are used. Derived partitions are only applied to new topics. All topics are described,
+ * created, and updated with one request each.
+ */
+@Slf4j
+@Builder
+public final class TopicProvisioner {
+    private final @NonNull TopicClient topicClient;
+
+    /**
+     * Provision topics.
+     *
+     * @param specs specification of each topic by topic name
+     * @param inputTopics input topics to derive unspecified partitions and replication factors from
+     */
+    public void provision(final Map<String, TopicSpec> specs, final Collection<String> inputTopics) {
+        if (specs.isEmpty()) {
+            return;
+        }
+        final Collection<String> topics = new LinkedHashSet<>(specs.keySet());
+        topics.addAll(inputTopics);
+        final Map<String, Optional<TopicSettings>> settings = this.topicClient.describeIfExist(topics);
+        final Collection<TopicSettings> inputSettings = new ArrayList<>();
+        for (final String inputTopic : inputTopics) {
+            settings.get(inputTopic).ifPresentOrElse(inputSettings::add,
+                    () -> log.warn("Input topic {} does not exist and is ignored for provisioning", inputTopic));
+        }
+        final Optional<Integer> defaultPartitions = inputSettings.stream()
+                .map(TopicSettings::getPartitions)
+                .max(Integer::compare);
+        final Optional<Short> defaultReplicationFactor = inputSettings.stream()
+                .map(TopicSettings::getReplicationFactor)
+                .max(Short::compare);
+
+        final Map<String, NewTopicSpec> newTopics = new HashMap<>();
+        final Map<String, Integer> newPartitions = new HashMap<>();
+        final Map<String, Map<String, String>> configs = new HashMap<>();
+        specs.forEach((topic, spec) -> {
+            final Optional<TopicSettings> existing = settings.get(topic);
+            if (existing.isEmpty()) {
+                newTopics.put(topic, NewTopicSpec.builder()
+                        .partitions(spec.getPartitions().or(() -> defaultPartitions).orElse(null))
+                        .replicationFactor(spec.getReplicationFactor().or(() -> defaultReplicationFactor).orElse(null))
+                        .config(spec.getConfig())
+                        .build());
+                return;
+            }
+            final TopicSettings topicSettings = existing.get();
+            spec.getPartitions().ifPresent(partitions -> {
+                if (partitions > topicSettings.getPartitions()) {
+                    newPartitions.put(topic, partitions);
+                } else if (partitions < topicSettings.getPartitions()) {
+                    log.warn("Topic {} has {} partitions but {} are specified. Partitions cannot be decreased", topic,
+                            topicSettings.getPartitions(), partitions);
+                }
+            });
+            spec.getReplicationFactor()
+                    .filter(replicationFactor -> replicationFactor != topicSettings.getReplicationFactor())
+                    .ifPresent(replicationFactor -> log.warn(
+                            "Topic {} has replication factor {} but {} is specified. Replication factor is not changed",
+                            topic, topicSettings.getReplicationFactor(), replicationFactor));
+            configs.put(topic, spec.getConfig());
+        });
+        this.topicClient.createTopics(newTopics);
+        this.topicClient.increasePartitions(newPartitions);
+        this.topicClient.updateConfigs(configs);
+    }
+}
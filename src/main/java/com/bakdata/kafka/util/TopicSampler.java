@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.SimpleRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+/**
+ * This class samples serialized records from the end of Kafka topics. The sample is spread evenly across all
+ * partitions. No consumer group is used and no offsets are committed.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class TopicSampler implements Closeable {
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100L);
+    private final @NonNull Consumer<byte[], byte[]> consumer;
+    private final @NonNull Duration timeout;
+
+    /**
+     * Creates a new {@code TopicSampler} using the specified configuration.
+     *
+     * @param configs properties passed to {@link KafkaConsumer#KafkaConsumer(Properties)}. Deserializers, group id,
+     * and offset commits are overridden.
+     * @param timeout maximum time to wait for records
+     * @return {@code TopicSampler}
+     */
+    public static TopicSampler create(final Properties configs, final Duration timeout) {
+        final Properties consumerConfigs = new Properties();
+        consumerConfigs.putAll(configs);
+        consumerConfigs.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        consumerConfigs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerConfigs.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerConfigs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return new TopicSampler(new KafkaConsumer<>(consumerConfigs), timeout);
+    }
+
+    private static SimpleRecord toSimpleRecord(final ConsumerRecord<byte[], byte[]> record) {
+        return new SimpleRecord(record.timestamp(), record.key(), record.value(), record.headers().toArray());
+    }
+
+    /**
+     * Sample the latest records of topics. Fewer records are returned if the topics do not contain enough records or
+     * the timeout expires.
+     *
+     * @param topics topics to sample
+     * @param count number of records to sample
+     * @return sampled records
+     */
+    public List<SimpleRecord> sample(final Collection<String> topics, final int count) {
+        final List<TopicPartition> partitions = new ArrayList<>();
+        for (final String topic : topics) {
+            final List<PartitionInfo> partitionInfos = this.consumer.partitionsFor(topic, this.timeout);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                log.warn("Topic {} does not exist and is not sampled", topic);
+                continue;
+            }
+            partitionInfos.forEach(info -> partitions.add(new TopicPartition(info.topic(), info.partition())));
+        }
+        if (partitions.isEmpty() || count <= 0) {
+            return List.of();
+        }
+        final Map<TopicPartition, Long> beginningOffsets = this.consumer.beginningOffsets(partitions, this.timeout);
+        final Map<TopicPartition, Long> endOffsets = this.consumer.endOffsets(partitions, this.timeout);
+        final long perPartition = (count + partitions.size() - 1L) / partitions.size();
+        final Map<TopicPartition, Long> remaining = new HashMap<>();
+        this.consumer.assign(partitions);
+        for (final TopicPartition partition : partitions) {
+            final long end = endOffsets.get(partition);
+            final long start = Math.max(beginningOffsets.get(partition), end - perPartition);
+            if (start < end) {
+                this.consumer.seek(partition, start);
+                remaining.put(partition, end);
+            }
+        }
+        this.consumer.pause(partitions);
+        this.consumer.resume(remaining.keySet());
+
+        final List<SimpleRecord> records = new ArrayList<>();
+        final long deadline = System.nanoTime() + this.timeout.toNanos();
+        while (!remaining.isEmpty() && records.size() < count && System.nanoTime() < deadline) {
+            for (final ConsumerRecord<byte[], byte[]> record : this.consumer.poll(POLL_TIMEOUT)) {
+                final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (records.size() < count) {
+                    records.add(toSimpleRecord(record));
+                }
+                if (record.offset() + 1L >= remaining.getOrDefault(partition, Long.MAX_VALUE)) {
+                    remaining.remove(partition);
+                    this.consumer.pause(List.of(partition));
+                }
+            }
+            // partitions might end with transaction markers or compacted records
+            remaining.keySet().removeIf(partition -> this.consumer.position(partition) >= remaining.get(partition));
+        }
+        log.info("Sampled {} records from topics {}", records.size(), topics);
+        return records;
+    }
+
+    @Override
+    public void close() {
+        this.consumer.close();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.SchemaStore;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.InterruptException;
+
+/**
+ * {@link FingerprintSchemaStore} that saves schemas to a compacted Kafka topic. Each schema is a record keyed by its
+ * fingerprint. Registering a schema writes it synchronously if it is not known yet. Unknown fingerprints are looked
+ * up by reading the topic up to its end. All schemas read or written are cached, so that the topic is only accessed
+ * once per schema. The topic must exist.
+ * <p>
+ * Use {@link #getShared(Map, String)} to share a store among all serdes of a JVM.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class TopicSchemaStore implements FingerprintSchemaStore, AutoCloseable {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30L);
+    private static final Map<SharedStoreKey, TopicSchemaStore> SHARED_STORES = new ConcurrentHashMap<>();
+    private final SchemaStore.Cache cache = new SchemaStore.Cache();
+    private final @NonNull CompactedTopic compactedTopic;
+    private final @NonNull String topic;
+
+    /**
+     * Creates a new {@code TopicSchemaStore} using the specified configuration.
+     *
+     * @param configs configs passed to {@link CompactedTopic#create(Map, String, Duration)}
+     * @param topic compacted topic to save schemas to
+     * @param timeout maximum time to wait for reading and writing schemas
+     * @return {@code TopicSchemaStore}
+     */
+    public static TopicSchemaStore create(final Map<String, ?> configs, final String topic, final Duration timeout) {
+        return new TopicSchemaStore(CompactedTopic.create(configs, topic, timeout), topic);
+    }
+
+    /**
+     * Get a store that is shared by all callers with the same bootstrap servers and topic. Shared stores are never
+     * closed.
+     *
+     * @param configs configs containing {@link CommonClientConfigs#BOOTSTRAP_SERVERS_CONFIG}
+     * @param topic compacted topic to save schemas to
+     * @return shared {@code TopicSchemaStore}
+     */
+    public static TopicSchemaStore getShared(final Map<String, ?> configs, final String topic) {
+        final Object servers = configs.get(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG);
+        if (servers == null) {
+            throw new IllegalArgumentException(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG + " must be specified");
+        }
+        final String bootstrapServers = servers instanceof List
+                ? ((List<?>) servers).stream().map(Objects::toString).collect(Collectors.joining(","))
+                : servers.toString();
+        return SHARED_STORES.computeIfAbsent(new SharedStoreKey(bootstrapServers, topic),
+                ignored -> create(configs, topic, DEFAULT_TIMEOUT));
+    }
+
+    private static String toKey(final long fingerprint) {
+        return Long.toHexString(fingerprint);
+    }
+
+    @Override
+    public void register(final Schema schema) {
+        final long fingerprint = SchemaNormalization.parsingFingerprint64(schema);
+        if (this.cache.findByFingerprint(fingerprint) != null) {
+            return;
+        }
+        try {
+            this.compactedTopic.send(toKey(fingerprint), schema.toString()).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptException(e);
+        } catch (final ExecutionException e) {
+            throw new KafkaException("Failed to save schema " + schema.getFullName() + " to topic " + this.topic,
+                    e.getCause());
+        }
+        this.cache.addSchema(schema);
+        log.info("Registered schema {} with fingerprint {} in topic {}", schema.getFullName(), toKey(fingerprint),
+                this.topic);
+    }
+
+    @Override
+    public Schema findByFingerprint(final long fingerprint) {
+        final Schema schema = this.cache.findByFingerprint(fingerprint);
+        if (schema != null) {
+            return schema;
+        }
+        this.compactedTopic.readToEnd((key, value) -> {
+            if (value != null) {
+                this.cache.addSchema(new Schema.Parser().parse(value));
+            }
+        });
+        return this.cache.findByFingerprint(fingerprint);
+    }
+
+    @Override
+    public void close() {
+        this.compactedTopic.close();
+    }
+
+    @Value
+    private static class SharedStoreKey {
+        String bootstrapServers;
+        String topic;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.Value;
+import org.apache.kafka.common.config.TopicConfig;
+
+/**
+ * Declarative specification of a topic. Settings that are not specified are derived from the input topics of an
+ * application or left to the defaults of the broker.
+ *
+ * @see TopicProvisioner
+ */
+@Value
+@Builder
+public class TopicSpec {
+    /**
+     * Number of partitions. Derived from the input topics or left to the broker default if not specified.
+     */
+    Integer partitions;
+    /**
+     * Replication factor. Derived from the input topics or left to the broker default if not specified.
+     */
+    Short replicationFactor;
+    /**
+     * Retention time of records
+     */
+    Duration retention;
+    /**
+     * Whether the topic should be compacted instead of deleting old segments
+     */
+    Boolean compacted;
+    /**
+     * Size of log segments in bytes
+     */
+    Long segmentBytes;
+
+    public Optional<Integer> getPartitions() {
+        return Optional.ofNullable(this.partitions);
+    }
+
+    public Optional<Short> getReplicationFactor() {
+        return Optional.ofNullable(this.replicationFactor);
+    }
+
+    /**
+     * Get the topic configuration corresponding to this specification.
+     *
+     * @return topic configuration containing only specified values
+     */
+    public Map<String, String> getConfig() {
+        final Map<String, String> config = new HashMap<>();
+        if (this.retention != null) {
+            config.put(TopicConfig.RETENTION_MS_CONFIG, Long.toString(this.retention.toMillis()));
+        }
+        if (this.compacted != null) {
+            config.put(TopicConfig.CLEANUP_POLICY_CONFIG,
+                    this.compacted ? TopicConfig.CLEANUP_POLICY_COMPACT : TopicConfig.CLEANUP_POLICY_DELETE);
+        }
+        if (this.segmentBytes != null) {
+            config.put(TopicConfig.SEGMENT_BYTES_CONFIG, Long.toString(this.segmentBytes));
+        }
+        return config;
+    }
+}
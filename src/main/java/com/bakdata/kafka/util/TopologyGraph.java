@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.streams.TopologyDescription;
+import org.apache.kafka.streams.TopologyDescription.Node;
+import org.apache.kafka.streams.TopologyDescription.Processor;
+import org.apache.kafka.streams.TopologyDescription.Sink;
+import org.apache.kafka.streams.TopologyDescription.Source;
+import org.apache.kafka.streams.TopologyDescription.Subtopology;
+
+/**
+ * Indexed representation of a {@link TopologyDescription}. The description is traversed once and sources, sinks, and
+ * stores are indexed so that lookups do not require scanning all nodes of the topology. Subtopologies are connected by
+ * an edge if a sink of one subtopology writes to a topic consumed by a source of the other subtopology.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class TopologyGraph {
+    /**
+     * Source topics in order of appearance
+     */
+    @Getter
+    private final @NonNull List<String> sources;
+    /**
+     * Sink topics in order of appearance
+     */
+    @Getter
+    private final @NonNull List<String> sinks;
+    /**
+     * Stores in order of appearance. A store is listed once for every processor it is connected to.
+     */
+    @Getter
+    private final @NonNull List<String> stores;
+    private final @NonNull Map<String, Integer> storeSubtopologies;
+    private final @NonNull Map<Integer, List<String>> subtopologySources;
+    private final @NonNull Map<Integer, List<String>> subtopologyProcessors;
+    private final @NonNull Map<Integer, Set<Integer>> downstreamSubtopologies;
+
+    static TopologyGraph create(final TopologyDescription description) {
+        final List<String> sources = new ArrayList<>();
+        final List<String> sinks = new ArrayList<>();
+        final List<String> stores = new ArrayList<>();
+        final Map<String, Integer> storeSubtopologies = new HashMap<>();
+        final Map<Integer, List<String>> subtopologySources = new HashMap<>();
+        final Map<Integer, List<String>> subtopologyProcessors = new HashMap<>();
+        final Map<String, Integer> sourceSubtopologies = new HashMap<>();
+        final Map<Integer, Set<String>> subtopologySinks = new HashMap<>();
+        for (final Subtopology subtopology : description.subtopologies()) {
+            final int id = subtopology.id();
+            final List<String> currentSources = subtopologySources.computeIfAbsent(id, ignored -> new ArrayList<>());
+            final Set<String> currentSinks = subtopologySinks.computeIfAbsent(id, ignored -> new HashSet<>());
+            final List<String> currentProcessors =
+                    subtopologyProcessors.computeIfAbsent(id, ignored -> new ArrayList<>());
+            for (final Node node : subtopology.nodes()) {
+                if (node instanceof Source) {
+                    // sources subscribed to a pattern have no topic set
+                    final Set<String> topicSet = ((Source) node).topicSet();
+                    for (final String topic : topicSet == null ? Set.<String>of() : topicSet) {
+                        sources.add(topic);
+                        currentSources.add(topic);
+                        sourceSubtopologies.put(topic, id);
+                    }
+                } else if (node instanceof Sink) {
+                    final String topic = ((Sink) node).topic();
+                    sinks.add(topic);
+                    currentSinks.add(topic);
+                } else if (node instanceof Processor) {
+                    currentProcessors.add(node.name());
+                    for (final String store : ((Processor) node).stores()) {
+                        stores.add(store);
+                        storeSubtopologies.put(store, id);
+                    }
+                }
+            }
+        }
+        final Map<Integer, Set<Integer>> downstreamSubtopologies = new HashMap<>();
+        subtopologySinks.forEach((id, topics) -> {
+            final Set<Integer> downstream = new LinkedHashSet<>();
+            for (final String topic : topics) {
+                final Integer target = sourceSubtopologies.get(topic);
+                if (target != null && !target.equals(id)) {
+                    downstream.add(target);
+                }
+            }
+            downstreamSubtopologies.put(id, downstream);
+        });
+        return new TopologyGraph(sources, sinks, stores, storeSubtopologies, subtopologySources,
+                subtopologyProcessors, downstreamSubtopologies);
+    }
+
+    /**
+     * Get the id of the subtopology that maintains a store.
+     *
+     * @param store name of state store
+     * @return id of subtopology
+     * @throws IllegalArgumentException if the store is not part of the topology
+     */
+    int getSubtopologyId(final String store) {
+        final Integer id = this.storeSubtopologies.get(store);
+        if (id == null) {
+            throw new IllegalArgumentException("Store " + store + " is not part of the topology");
+        }
+        return id;
+    }
+
+    List<String> getSources(final int subtopologyId) {
+        return this.subtopologySources.getOrDefault(subtopologyId, Collections.emptyList());
+    }
+
+    List<String> getProcessors(final int subtopologyId) {
+        return this.subtopologyProcessors.getOrDefault(subtopologyId, Collections.emptyList());
+    }
+
+    Collection<Integer> getSubtopologyIds() {
+        return this.subtopologySources.keySet();
+    }
+
+    Set<Integer> getDownstreamSubtopologies(final int subtopologyId) {
+        return this.downstreamSubtopologies.getOrDefault(subtopologyId, Collections.emptySet());
+    }
+}
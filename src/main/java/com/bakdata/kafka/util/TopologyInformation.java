@@ -24,54 +24,38 @@
 
 package com.bakdata.kafka.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.streams.Topology;
-import org.apache.kafka.streams.TopologyDescription.Node;
-import org.apache.kafka.streams.TopologyDescription.Processor;
-import org.apache.kafka.streams.TopologyDescription.Sink;
-import org.apache.kafka.streams.TopologyDescription.Source;
 
 public class TopologyInformation {
     private static final String CHANGELOG_SUFFIX = "-changelog";
     private static final String REPARTITION_SUFFIX = "-repartition";
+    private static final Pattern JOIN_PROCESSOR_PATTERN = Pattern.compile(
+            "^(KSTREAM|KTABLE)-(JOIN|LEFTJOIN|JOINTHIS|JOINOTHER|OUTERTHIS|OUTEROTHER|LEFTTHIS|LEFTOTHER)-");
     private final String streamsId;
-    private final Collection<Node> nodes;
+    private final TopologyGraph graph;
+    private final Set<String> changelogTopics;
+    private final Set<String> repartitionTopics;
+    private final List<String> externalSinkTopics;
+    private final Set<String> externalSinkTopicSet;
 
     public TopologyInformation(final Topology topology, final String streamsId) {
-        this.nodes = getNodes(topology);
         this.streamsId = streamsId;
-    }
-
-    private static List<Node> getNodes(final Topology topology) {
-        return topology.describe().subtopologies()
-                .stream()
-                .flatMap(subtopology -> subtopology.nodes().stream())
+        this.graph = TopologyGraph.create(topology.describe());
+        this.changelogTopics = this.getChangelogTopics().collect(Collectors.toSet());
+        this.repartitionTopics = this.getRepartitionTopics().collect(Collectors.toSet());
+        this.externalSinkTopics = this.graph.getSinks().stream()
+                .filter(this::isExternalTopic)
                 .collect(Collectors.toList());
-    }
-
-    private static Stream<String> getAllSources(final Collection<Node> nodes) {
-        return nodes.stream()
-                .filter(node -> node instanceof Source)
-                .map(node -> (Source) node)
-                .map(Source::topicSet)
-                .flatMap(Collection::stream);
-    }
-
-    private static Stream<String> getAllSinks(final Collection<Node> nodes) {
-        return nodes.stream()
-                .filter(node -> node instanceof Sink)
-                .map(node -> ((Sink) node))
-                .map(Sink::topic);
-    }
-
-    private static Stream<String> getAllStores(final Collection<Node> nodes) {
-        return nodes.stream()
-                .filter(node -> node instanceof Processor)
-                .map(node -> ((Processor) node))
-                .flatMap(processor -> processor.stores().stream());
+        this.externalSinkTopicSet = new HashSet<>(this.externalSinkTopics);
     }
 
     public List<String> getInternalTopics() {
@@ -84,24 +68,99 @@ public class TopologyInformation {
     }
 
     public List<String> getExternalSinkTopics() {
-        return getAllSinks(this.nodes)
-                .filter(this::isExternalTopic)
-                .collect(Collectors.toList());
+        return new ArrayList<>(this.externalSinkTopics);
     }
 
     public List<String> getExternalSourceTopics() {
-        final List<String> sinks = this.getExternalSinkTopics();
-        return getAllSources(this.nodes)
+        return this.graph.getSources().stream()
                 .filter(this::isExternalTopic)
-                .filter(t -> !sinks.contains(t))
+                .filter(t -> !this.externalSinkTopicSet.contains(t))
                 .collect(Collectors.toList());
     }
 
     public List<String> getIntermediateTopics() {
-        final List<String> sinks = this.getExternalSinkTopics();
-        return getAllSources(this.nodes)
+        return this.graph.getSources().stream()
                 .filter(this::isExternalTopic)
-                .filter(sinks::contains)
+                .filter(this.externalSinkTopicSet::contains)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get all state stores of the topology.
+     *
+     * @return names of state stores
+     */
+    public List<String> getStores() {
+        return this.graph.getStores().stream()
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the id of the subtopology that contains a state store. Tasks of this subtopology maintain the store.
+     *
+     * @param store name of state store
+     * @return id of subtopology
+     * @throws IllegalArgumentException if the store is not part of the topology
+     */
+    public int getSubtopologyId(final String store) {
+        return this.graph.getSubtopologyId(store);
+    }
+
+    /**
+     * Get the ids of all subtopologies that consume topics produced by a subtopology.
+     *
+     * @param subtopologyId id of subtopology
+     * @return ids of downstream subtopologies
+     */
+    Collection<Integer> getDownstreamSubtopologyIds(final int subtopologyId) {
+        return this.graph.getDownstreamSubtopologies(subtopologyId);
+    }
+
+    /**
+     * Get groups of external source topics that need to be co-partitioned. Source topics are considered to be
+     * co-partitioned if they are consumed by the same subtopology and this subtopology contains a join. Joins are
+     * detected by the generated processor names, so joins with custom names are not taken into account.
+     *
+     * @return groups of co-partitioned source topics
+     */
+    public List<Set<String>> getCoPartitionedSourceTopics() {
+        return this.graph.getSubtopologyIds().stream()
+                .filter(this::containsJoin)
+                .map(id -> this.graph.getSources(id).stream()
+                        .filter(this::isExternalTopic)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)))
+                .filter(topics -> topics.size() > 1)
+                .collect(Collectors.toList());
+    }
+
+    private boolean containsJoin(final int subtopologyId) {
+        return this.graph.getProcessors(subtopologyId).stream()
+                .anyMatch(processor -> JOIN_PROCESSOR_PATTERN.matcher(processor).find());
+    }
+
+    /**
+     * Get the changelog topic of a state store.
+     *
+     * @param store name of state store
+     * @return name of changelog topic
+     */
+    public String getChangelogTopic(final String store) {
+        return String.format("%s-%s%s", this.streamsId, store, CHANGELOG_SUFFIX);
+    }
+
+    /**
+     * Get the internal topics that are consumed by the subtopology containing a state store, i.e., the repartition
+     * topics feeding the store.
+     *
+     * @param store name of state store
+     * @return names of repartition topics
+     * @throws IllegalArgumentException if the store is not part of the topology
+     */
+    public List<String> getRepartitionTopics(final String store) {
+        return this.graph.getSources(this.graph.getSubtopologyId(store)).stream()
+                .filter(this::isInternalTopic)
+                .map(topic -> String.format("%s-%s", this.streamsId, topic))
                 .collect(Collectors.toList());
     }
 
@@ -110,12 +169,10 @@ public class TopologyInformation {
             return true;
         }
         if (topic.endsWith(CHANGELOG_SUFFIX)) {
-            final List<String> changelogTopics = this.getChangelogTopics().collect(Collectors.toList());
-            return changelogTopics.contains(topic);
+            return this.changelogTopics.contains(topic);
         }
         if (topic.endsWith(REPARTITION_SUFFIX)) {
-            final List<String> repartitionTopics = this.getRepartitionTopics().collect(Collectors.toList());
-            return repartitionTopics.contains(topic);
+            return this.repartitionTopics.contains(topic);
         }
         return false;
     }
@@ -125,18 +182,18 @@ public class TopologyInformation {
     }
 
     private Stream<String> getInternalSinks() {
-        return getAllSinks(this.nodes)
+        return this.graph.getSinks().stream()
                 .filter(this::isInternalTopic)
                 .map(topic -> String.format("%s-%s", this.streamsId, topic));
     }
 
     private Stream<String> getChangelogTopics() {
-        return getAllStores(this.nodes)
-                .map(store -> String.format("%s-%s%s", this.streamsId, store, CHANGELOG_SUFFIX));
+        return this.graph.getStores().stream()
+                .map(this::getChangelogTopic);
     }
 
     private Stream<String> getRepartitionTopics() {
-        return getAllStores(this.nodes)
+        return this.graph.getStores().stream()
                 .map(store -> String.format("%s%s", store, REPARTITION_SUFFIX));
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bakdata.kafka.util.FingerprintSchemaStore;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.streams.StreamsConfig;
+import org.junit.jupiter.api.Test;
+
+class CompactInternalAvroSerdeTest {
+    private static final String APP_ID = "app";
+    private static final String REPARTITION_TOPIC = APP_ID + "-KSTREAM-KEY-SELECT-0000000001-repartition";
+    private static final TestRecord RECORD = TestRecord.newBuilder().setContent("foo").build();
+    private final FingerprintSchemaStore schemaStore = FingerprintSchemaStore.inMemory();
+
+    private CompactInternalAvroSerde<TestRecord> createSerde(final boolean isKey) {
+        return this.createSerde(Map.of(
+                StreamsConfig.APPLICATION_ID_CONFIG, APP_ID,
+                AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://compact"
+        ), isKey);
+    }
+
+    private CompactInternalAvroSerde<TestRecord> createSerde(final Map<String, ?> configs, final boolean isKey) {
+        final CompactInternalAvroSerde<TestRecord> serde = new CompactInternalAvroSerde<>(this.schemaStore);
+        serde.configure(configs, isKey);
+        return serde;
+    }
+
+    @Test
+    void shouldWriteInternalTopicsWithoutSchemaRegistry() {
+        final CompactInternalAvroSerde<TestRecord> serde = this.createSerde(false);
+        final byte[] compact = serde.serializer().serialize(REPARTITION_TOPIC, RECORD);
+        assertThat(compact[0]).isEqualTo((byte) 0xC3);
+        // 10-byte single-object header and 4 bytes for the string
+        assertThat(compact).hasSize(14);
+        assertThat(compact.length).isLessThan(serde.serializer().serialize("output", RECORD).length);
+        assertThat(serde.deserializer().deserialize(REPARTITION_TOPIC, compact)).isEqualTo(RECORD);
+        assertThat(serde.deserializer().deserialize(APP_ID + "-store-changelog", compact)).isEqualTo(RECORD);
+    }
+
+    @Test
+    void shouldDelegateExternalTopicsAndKeys() {
+        final CompactInternalAvroSerde<TestRecord> serde = this.createSerde(false);
+        final byte[] external = serde.serializer().serialize("output", RECORD);
+        assertThat(external[0]).isEqualTo((byte) 0x0);
+        // records written by the delegate can still be read from internal topics
+        assertThat(serde.deserializer().deserialize(REPARTITION_TOPIC, external)).isEqualTo(RECORD);
+
+        final CompactInternalAvroSerde<TestRecord> keySerde = this.createSerde(true);
+        assertThat(keySerde.serializer().serialize(REPARTITION_TOPIC, RECORD)[0]).isEqualTo((byte) 0x0);
+    }
+
+    @Test
+    void shouldUseConfiguredInternalTopics() {
+        final CompactInternalAvroSerde<TestRecord> serde = this.createSerde(Map.of(
+                StreamsConfig.APPLICATION_ID_CONFIG, APP_ID,
+                AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://compact",
+                CompactInternalAvroSerde.INTERNAL_TOPICS_CONFIG, "named-repartition"
+        ), false);
+        assertThat(serde.serializer().serialize("named-repartition", RECORD)[0]).isEqualTo((byte) 0xC3);
+        assertThat(serde.serializer().serialize(REPARTITION_TOPIC, RECORD)[0]).isEqualTo((byte) 0x0);
+    }
+
+    @Test
+    void shouldReadRecordsWrittenWithEvolvedSchema() throws IOException {
+        // schema of another version of the application with an additional field
+        final Schema evolvedSchema = SchemaBuilder.record(TestRecord.getClassSchema().getFullName()).fields()
+                .requiredString("content")
+                .name("count").type().intType().intDefault(0)
+                .endRecord();
+        this.schemaStore.register(evolvedSchema);
+        final GenericRecord evolved = new GenericRecordBuilder(evolvedSchema)
+                .set("content", "foo")
+                .set("count", 5)
+                .build();
+        final ByteBuffer data = new BinaryMessageEncoder<GenericRecord>(GenericData.get(), evolvedSchema)
+                .encode(evolved);
+        final byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+
+        final CompactInternalAvroSerde<TestRecord> serde = this.createSerde(false);
+        assertThat(serde.deserializer().deserialize(REPARTITION_TOPIC, bytes)).isEqualTo(RECORD);
+    }
+
+    @Test
+    void shouldRejectUnknownSchema() {
+        final byte[] compact = this.createSerde(false).serializer().serialize(REPARTITION_TOPIC, RECORD);
+        // a fresh instance without access to the writer schema
+        final CompactInternalAvroSerde<TestRecord> serde =
+                new CompactInternalAvroSerde<>(FingerprintSchemaStore.inMemory());
+        serde.configure(Map.of(
+                StreamsConfig.APPLICATION_ID_CONFIG, APP_ID,
+                AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://compact"
+        ), false);
+        assertThatThrownBy(() -> serde.deserializer().deserialize(REPARTITION_TOPIC, compact))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unknown writer schema");
+    }
+}
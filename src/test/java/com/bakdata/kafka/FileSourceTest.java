@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSourceTest {
+    private static final int RECORDS = 10000;
+    @TempDir
+    Path tempDir;
+
+    private static List<Integer> generateAll(final SplittableSource<String, Integer> source, final int parallelism)
+            throws Exception {
+        final List<Integer> values = new CopyOnWriteArrayList<>();
+        for (final RecordShard<String, Integer> shard : source.split(parallelism)) {
+            shard.generate(record -> values.add(record.value()));
+        }
+        return values;
+    }
+
+    private static List<Integer> expectedValues() {
+        return IntStream.range(0, RECORDS).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldReadEveryLineOnce() throws Exception {
+        final Path file = this.tempDir.resolve("input.csv");
+        final String content = IntStream.range(0, RECORDS)
+                .mapToObj(i -> "key," + i + (i % 2 == 0 ? "\r\n" : "\n"))
+                .collect(Collectors.joining("", "", "\n"));
+        Files.writeString(file, content);
+        final SplittableSource<String, Integer> source = DelimitedFileSource.<String, Integer>builder()
+                .file(file)
+                .parser(line -> {
+                    final String[] fields = line.split(",");
+                    return new ProducerRecord<>("topic", fields[0], Integer.valueOf(fields[1]));
+                })
+                .build();
+        assertThat(source.split(4)).hasSize(4);
+        assertThat(generateAll(source, 4)).isEqualTo(expectedValues());
+    }
+
+    @Test
+    void shouldReadLastLineWithoutDelimiter() throws Exception {
+        final Path file = this.tempDir.resolve("input.txt");
+        Files.write(file, "1\n2\n3".getBytes(StandardCharsets.UTF_8));
+        final SplittableSource<String, Integer> source = DelimitedFileSource.<String, Integer>builder()
+                .file(file)
+                .parser(line -> new ProducerRecord<>("topic", null, Integer.valueOf(line)))
+                .build();
+        assertThat(generateAll(source, 8)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void shouldResumeDelimitedFileFromPosition() throws Exception {
+        final Path file = this.tempDir.resolve("input.txt");
+        Files.write(file, "1\n2\n3\n".getBytes(StandardCharsets.UTF_8));
+        final CheckpointedSource<String, Integer> source = DelimitedFileSource.<String, Integer>builder()
+                .file(file)
+                .parser(line -> new ProducerRecord<>("topic", null, Integer.valueOf(line)))
+                .build()
+                .checkpointed();
+        final List<CheckpointedShard<String, Integer>> shards = source.split(1);
+        assertThat(shards).hasSize(1);
+        final CheckpointedShard<String, Integer> shard = shards.get(0);
+        final List<Long> positions = new ArrayList<>();
+        shard.generate(shard.getInitialPosition(), (record, position) -> positions.add(position));
+        assertThat(positions).containsExactly(2L, 4L, 6L);
+        final List<Integer> values = new ArrayList<>();
+        shard.generate(positions.get(0), (record, position) -> values.add(record.value()));
+        assertThat(values).containsExactly(2, 3);
+    }
+
+    @Test
+    void shouldSplitCheckpointedDelimitedFileIndependentOfParallelism() throws Exception {
+        final Path file = this.tempDir.resolve("input.txt");
+        final String content = IntStream.range(0, RECORDS)
+                .mapToObj(i -> i + "\n")
+                .collect(Collectors.joining());
+        Files.writeString(file, content);
+        final CheckpointedSource<String, Integer> source = DelimitedFileSource.<String, Integer>builder()
+                .file(file)
+                .parser(line -> new ProducerRecord<>("topic", null, Integer.valueOf(line)))
+                .checkpointChunkSize(1024L)
+                .build()
+                .checkpointed();
+        final List<String> ids = source.split(2).stream()
+                .map(CheckpointedShard::getId)
+                .collect(Collectors.toList());
+        assertThat(ids).hasSizeGreaterThan(2);
+        assertThat(source.split(8))
+                .extracting(CheckpointedShard::getId)
+                .isEqualTo(ids);
+        final List<Integer> values = new ArrayList<>();
+        for (final CheckpointedShard<String, Integer> shard : source.split(8)) {
+            shard.generate(shard.getInitialPosition(), (record, position) -> values.add(record.value()));
+        }
+        assertThat(values).isEqualTo(expectedValues());
+    }
+
+    @Test
+    void shouldReadEveryAvroRecordOnce() throws Exception {
+        final Path file = this.tempDir.resolve("input.avro");
+        final Schema schema = SchemaBuilder.record("Record").fields()
+                .requiredInt("value")
+                .endRecord();
+        writeAvroFile(file, schema);
+        final SplittableSource<String, Integer> source = AvroFileSource.<String, Integer>builder()
+                .file(file)
+                .mapper(record -> new ProducerRecord<>("topic", null, (Integer) record.get("value")))
+                .build();
+        assertThat(generateAll(source, 4)).isEqualTo(expectedValues());
+        // chunks smaller than the read-ahead of the decoder after the header
+        assertThat(Files.size(file) / 16).isLessThan(8192L);
+        final List<Integer> values = generateAll(source, 16);
+        assertThat(values).hasSize(RECORDS);
+        assertThat(values).isEqualTo(expectedValues());
+    }
+
+    private static void writeAvroFile(final Path file, final Schema schema) throws IOException {
+        try (final DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+            // small blocks so that the file consists of many blocks
+            writer.setSyncInterval(1024);
+            writer.create(schema, file.toFile());
+            for (int i = 0; i < RECORDS; i++) {
+                final GenericRecord record = new GenericData.Record(schema);
+                record.put("value", i);
+                writer.append(record);
+            }
+        }
+    }
+}
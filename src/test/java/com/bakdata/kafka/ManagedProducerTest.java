@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+class ManagedProducerTest {
+
+    private static MockProducer<String, String> createMockProducer(final boolean autoComplete) {
+        return new MockProducer<>(autoComplete, new StringSerializer(), new StringSerializer());
+    }
+
+    @Test
+    void shouldTrackAcknowledgedRecords() {
+        final MockProducer<String, String> mockProducer = createMockProducer(true);
+        final ManagedProducer<String, String> producer = ManagedProducer.<String, String>builder()
+                .producer(mockProducer)
+                .build();
+        producer.send(new ProducerRecord<>("topic", "key", "value"));
+        producer.send(new ProducerRecord<>("topic", "key", "value"));
+        producer.close();
+        assertThat(mockProducer.history()).hasSize(2);
+        assertThat(mockProducer.closed()).isTrue();
+        final ProducerStats stats = producer.getStats();
+        assertThat(stats.getRecords()).isEqualTo(2L);
+        assertThat(stats.getFailures()).isZero();
+    }
+
+    @Test
+    void shouldBlockIfMaxInFlightIsReached() throws InterruptedException {
+        final MockProducer<String, String> mockProducer = createMockProducer(false);
+        final ManagedProducer<String, String> producer = ManagedProducer.<String, String>builder()
+                .producer(mockProducer)
+                .maxInFlight(1)
+                .build();
+        producer.send(new ProducerRecord<>("topic", "key", "value"));
+        final CompletableFuture<Void> blocked =
+                CompletableFuture.runAsync(() -> producer.send(new ProducerRecord<>("topic", "key", "value")));
+        TimeUnit.MILLISECONDS.sleep(100L);
+        assertThat(blocked).isNotDone();
+        assertThat(mockProducer.completeNext()).isTrue();
+        blocked.join();
+        assertThat(mockProducer.completeNext()).isTrue();
+        producer.close();
+        assertThat(producer.getStats().getRecords()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldAggregateFailures() {
+        final MockProducer<String, String> mockProducer = createMockProducer(false);
+        final ManagedProducer<String, String> producer = ManagedProducer.<String, String>builder()
+                .producer(mockProducer)
+                .build();
+        producer.send(new ProducerRecord<>("topic", "key", "value"));
+        producer.send(new ProducerRecord<>("topic", "key", "value"));
+        mockProducer.errorNext(new RuntimeException("first"));
+        mockProducer.errorNext(new RuntimeException("second"));
+        assertThatThrownBy(() -> producer.send(new ProducerRecord<>("topic", "key", "value")))
+                .isInstanceOf(ProducerSendException.class)
+                .hasMessage("Failed to send 2 records")
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(2));
+        assertThatThrownBy(producer::close)
+                .isInstanceOf(ProducerSendException.class);
+        assertThat(producer.getStats().getFailures()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldFailIfRecordsAreInFlightAfterTimeout() {
+        final MockProducer<String, String> mockProducer = createMockProducer(false);
+        final ManagedProducer<String, String> producer = ManagedProducer.<String, String>builder()
+                .producer(mockProducer)
+                .build();
+        producer.send(new ProducerRecord<>("topic", "key", "value"));
+        assertThatThrownBy(() -> producer.close(Duration.ofMillis(10L)))
+                .isInstanceOf(ProducerSendException.class)
+                .hasMessageContaining("in flight");
+        assertThat(mockProducer.closed()).isTrue();
+    }
+}
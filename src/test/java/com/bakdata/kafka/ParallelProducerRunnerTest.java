@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.IntegerSerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelProducerRunnerTest {
+    private static final int RECORDS_PER_SHARD = 1000;
+    private static final Duration CHECKPOINT_INTERVAL = Duration.ofMillis(10L);
+
+    private static SplittableSource<String, Integer> createSource() {
+        return parallelism -> IntStream.range(0, parallelism)
+                .<RecordShard<String, Integer>>mapToObj(shard -> sink -> {
+                    for (int i = 0; i < RECORDS_PER_SHARD; i++) {
+                        sink.send(new ProducerRecord<>("topic", "key" + shard, i));
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static ParallelProducerRunner<String, Integer> createRunner(
+            final List<MockProducer<String, Integer>> mockProducers, final ProducerMode producerMode) {
+        return ParallelProducerRunner.<String, Integer>builder()
+                .producerFactory(() -> {
+                    final MockProducer<String, Integer> mockProducer =
+                            new MockProducer<>(true, new StringSerializer(), new IntegerSerializer());
+                    mockProducers.add(mockProducer);
+                    return ManagedProducer.<String, Integer>builder()
+                            .producer(mockProducer)
+                            .build();
+                })
+                .parallelism(4)
+                .producerMode(producerMode)
+                .queueCapacity(10)
+                .build();
+    }
+
+    @Test
+    void shouldPreserveOrderPerKeyWithSharedProducer() {
+        final List<MockProducer<String, Integer>> mockProducers = new CopyOnWriteArrayList<>();
+        createRunner(mockProducers, ProducerMode.SHARED).run(createSource());
+        assertThat(mockProducers).hasSize(1);
+        final Map<String, List<Integer>> valuesByKey = mockProducers.get(0).history().stream()
+                .collect(Collectors.groupingBy(ProducerRecord::key,
+                        Collectors.mapping(ProducerRecord::value, Collectors.toList())));
+        assertThat(valuesByKey).hasSize(4);
+        final List<Integer> expected = IntStream.range(0, RECORDS_PER_SHARD).boxed().collect(Collectors.toList());
+        assertThat(valuesByKey.values()).allSatisfy(values -> assertThat(values).isEqualTo(expected));
+    }
+
+    @Test
+    void shouldUseProducerPerWorker() {
+        final List<MockProducer<String, Integer>> mockProducers = new CopyOnWriteArrayList<>();
+        createRunner(mockProducers, ProducerMode.PER_WORKER).run(createSource());
+        assertThat(mockProducers)
+                .hasSize(4)
+                .allSatisfy(mockProducer -> assertThat(mockProducer.closed()).isTrue());
+        assertThat(mockProducers.stream().mapToInt(mockProducer -> mockProducer.history().size()).sum())
+                .isEqualTo(4 * RECORDS_PER_SHARD);
+    }
+
+    @Test
+    void shouldFailIfShardFails() {
+        final List<MockProducer<String, Integer>> mockProducers = new CopyOnWriteArrayList<>();
+        final SplittableSource<String, Integer> source = parallelism -> List.of(
+                sink -> sink.send(new ProducerRecord<>("topic", "key", 1)),
+                sink -> {
+                    throw new IllegalStateException("boom");
+                });
+        assertThatThrownBy(() -> createRunner(mockProducers, ProducerMode.SHARED).run(source))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    @Test
+    void shouldResumeFromCheckpoint(@TempDir final Path tempDir) {
+        final CheckpointStore store = new FileCheckpointStore(tempDir.resolve("checkpoint.properties"));
+        store.save(Map.of("shard0", (long) RECORDS_PER_SHARD / 2));
+        final List<MockProducer<String, Integer>> mockProducers = new CopyOnWriteArrayList<>();
+        createRunner(mockProducers, ProducerMode.SHARED).run(createCheckpointedSource(), store, CHECKPOINT_INTERVAL);
+        final Map<String, List<Integer>> valuesByKey = mockProducers.get(0).history().stream()
+                .collect(Collectors.groupingBy(ProducerRecord::key,
+                        Collectors.mapping(ProducerRecord::value, Collectors.toList())));
+        assertThat(valuesByKey.get("key0"))
+                .isEqualTo(IntStream.range(RECORDS_PER_SHARD / 2, RECORDS_PER_SHARD).boxed()
+                        .collect(Collectors.toList()));
+        assertThat(valuesByKey.get("key1")).hasSize(RECORDS_PER_SHARD);
+        assertThat(store.load())
+                .containsEntry("shard0", (long) RECORDS_PER_SHARD)
+                .containsEntry("shard1", (long) RECORDS_PER_SHARD);
+
+        final List<MockProducer<String, Integer>> resumedProducers = new CopyOnWriteArrayList<>();
+        createRunner(resumedProducers, ProducerMode.SHARED).run(createCheckpointedSource(), store, CHECKPOINT_INTERVAL);
+        assertThat(resumedProducers.get(0).history()).isEmpty();
+    }
+
+    private static CheckpointedSource<String, Integer> createCheckpointedSource() {
+        return parallelism -> IntStream.range(0, 2)
+                .mapToObj(ParallelProducerRunnerTest::createCheckpointedShard)
+                .collect(Collectors.toList());
+    }
+
+    private static CheckpointedShard<String, Integer> createCheckpointedShard(final int shard) {
+        return new CheckpointedShard<>() {
+            @Override
+            public String getId() {
+                return "shard" + shard;
+            }
+
+            @Override
+            public long getInitialPosition() {
+                return 0L;
+            }
+
+            @Override
+            public void generate(final long position, final CheckpointedSink<String, Integer> sink) {
+                for (int i = (int) position; i < RECORDS_PER_SHARD; i++) {
+                    sink.send(new ProducerRecord<>("topic", "key" + shard, i), i + 1L);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Properties;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.streams.StreamsConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class PerformanceProfileTest {
+
+    @Test
+    void shouldConfigureExactlyOnceStreams() {
+        final Properties properties = new Properties();
+        PerformanceProfile.EXACTLY_ONCE.configureStreams(properties);
+        assertThat(properties)
+                .containsEntry(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE)
+                .containsEntry(StreamsConfig.producerPrefix(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION), 1)
+                .containsEntry(StreamsConfig.producerPrefix(ProducerConfig.ACKS_CONFIG), "all")
+                .containsEntry(StreamsConfig.producerPrefix(ProducerConfig.COMPRESSION_TYPE_CONFIG), "gzip");
+    }
+
+    @Test
+    void shouldConfigureThroughputProducer() {
+        final Properties properties = new Properties();
+        PerformanceProfile.THROUGHPUT.configureProducer(properties);
+        assertThat(properties)
+                .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .doesNotContainKey(StreamsConfig.PROCESSING_GUARANTEE_CONFIG);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PerformanceProfile.class)
+    void shouldValidateProfile(final PerformanceProfile profile) {
+        final Properties streamsProperties = new Properties();
+        profile.configureStreams(streamsProperties);
+        final Properties producerProperties = new Properties();
+        profile.configureProducer(producerProperties);
+        assertThatCode(() -> {
+            profile.validateStreams(streamsProperties);
+            profile.validateProducer(producerProperties);
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldFailValidationForIdempotentProducerWithoutAcks() {
+        final Properties properties = new Properties();
+        PerformanceProfile.THROUGHPUT.configureProducer(properties);
+        properties.setProperty(ProducerConfig.ACKS_CONFIG, "1");
+        assertThatThrownBy(() -> PerformanceProfile.THROUGHPUT.validateProducer(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("acks=all");
+    }
+
+    @Test
+    void shouldFailValidationForTooManyInFlightRequests() {
+        final Properties properties = new Properties();
+        PerformanceProfile.LATENCY.configureStreams(properties);
+        properties.setProperty(StreamsConfig.producerPrefix(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION),
+                "10");
+        assertThatThrownBy(() -> PerformanceProfile.LATENCY.validateStreams(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("in-flight");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.streams.serdes.avro.GenericAvroSerializer;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+class ProjectingAvroDeserializerTest {
+    private static final String TOPIC = "topic";
+    private static final Schema SCHEMA = SchemaBuilder.record("Record").fields()
+            .requiredString("id")
+            .requiredLong("count")
+            .name("tags").type().array().items().stringType().noDefault()
+            .requiredString("name")
+            .endRecord();
+    private final SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+
+    private byte[] serialize(final GenericRecord record) {
+        final GenericAvroSerializer serializer = new GenericAvroSerializer(this.schemaRegistryClient);
+        serializer.configure(Map.of(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://"), false);
+        return serializer.serialize(TOPIC, record);
+    }
+
+    private static GenericRecord createRecord() {
+        return new GenericRecordBuilder(SCHEMA)
+                .set("id", "foo")
+                .set("count", 5L)
+                .set("tags", new GenericData.Array<>(SCHEMA.getField("tags").schema(), List.of("a", "b")))
+                .set("name", "bar")
+                .build();
+    }
+
+    @Test
+    void shouldDecodeOnlyProjectedFields() {
+        final ProjectingAvroDeserializer deserializer = ProjectingAvroDeserializer.builder()
+                .field("id")
+                .field("name")
+                .schemaRegistryClient(this.schemaRegistryClient)
+                .build();
+        final GenericRecord projected = deserializer.deserialize(TOPIC, this.serialize(createRecord()));
+        assertThat(projected.getSchema().getFields()).hasSize(2);
+        assertThat(projected.get("id")).hasToString("foo");
+        assertThat(projected.get("name")).hasToString("bar");
+        assertThat(projected.getSchema().getField("count")).isNull();
+    }
+
+    @Test
+    void shouldDecodeWithReaderSchema() {
+        final Schema readerSchema = SchemaBuilder.record("Record").fields()
+                .requiredLong("count")
+                .name("missing").type().stringType().stringDefault("default")
+                .endRecord();
+        final ProjectingAvroDeserializer deserializer = ProjectingAvroDeserializer.builder()
+                .readerSchema(readerSchema)
+                .schemaRegistryClient(this.schemaRegistryClient)
+                .build();
+        final GenericRecord projected = deserializer.deserialize(TOPIC, this.serialize(createRecord()));
+        assertThat(projected.get("count")).isEqualTo(5L);
+        assertThat(projected.get("missing")).hasToString("default");
+        assertThat(deserializer.deserialize(TOPIC, null)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreFieldsMissingInWriterSchema() {
+        final Schema projection = ProjectingAvroDeserializer.project(SCHEMA, List.of("id", "nmae"));
+        assertThat(projection.getFields())
+                .extracting(Schema.Field::name)
+                .containsExactly("id");
+    }
+
+    @Test
+    void shouldFailIfNoFieldIsPartOfWriterSchema() {
+        final ProjectingAvroDeserializer deserializer = ProjectingAvroDeserializer.builder()
+                .field("nmae")
+                .schemaRegistryClient(this.schemaRegistryClient)
+                .build();
+        final byte[] data = this.serialize(createRecord());
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, data))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+}
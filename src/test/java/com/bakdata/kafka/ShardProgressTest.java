@@ -26,31 +26,22 @@ package com.bakdata.kafka;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.bakdata.kafka.test_applications.WordCount;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.List;
-import java.util.Properties;
 import org.junit.jupiter.api.Test;
 
-class CleanUpRunnerTest {
+class ShardProgressTest {
 
     @Test
-    void createTemporaryPropertiesFile() throws IOException {
-        final WordCount wordCount = new WordCount();
-        wordCount.setInputTopics(List.of("input"));
-        final File file = CleanUpRunner.createTemporaryPropertiesFile(wordCount.getUniqueAppId(),
-                wordCount.getKafkaProperties());
-
-        assertThat(file.exists()).isTrue();
-
-        final Properties properties = new Properties();
-        try (final FileInputStream inStream = new FileInputStream(file)) {
-            properties.load(inStream);
-        }
-
-        final Properties expected = CleanUpRunner.toStringBasedProperties(wordCount.getKafkaProperties());
-        assertThat(properties).containsAllEntriesOf(expected);
+    void shouldCommitOnlyAcknowledgedPrefix() {
+        final ShardProgress progress = new ShardProgress("shard", 10L);
+        final long first = progress.register(20L);
+        final long second = progress.register(30L);
+        final long third = progress.register(40L);
+        assertThat(progress.getCommittablePosition()).isEqualTo(10L);
+        progress.acknowledge(second);
+        assertThat(progress.getCommittablePosition()).isEqualTo(10L);
+        progress.acknowledge(first);
+        assertThat(progress.getCommittablePosition()).isEqualTo(30L);
+        progress.acknowledge(third);
+        assertThat(progress.getCommittablePosition()).isEqualTo(40L);
     }
-}
\ No newline at end of file
+}
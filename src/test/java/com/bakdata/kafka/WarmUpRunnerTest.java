@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.kafka.WarmUpRunner.WarmUpResult;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.streams.serdes.avro.GenericAvroSerde;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.Topology;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WarmUpRunnerTest {
+    private static final String SCOPE = "warm-up";
+    private static final Schema SCHEMA = SchemaBuilder.record("Record").fields()
+            .requiredString("name")
+            .optionalLong("count")
+            .name("tags").type().array().items().stringType().noDefault()
+            .name("kind").type().enumeration("Kind").symbols("A", "B").noDefault()
+            .endRecord();
+    private static final Schema RECURSIVE_SCHEMA = new Schema.Parser().parse("{\"type\": \"record\", "
+            + "\"name\": \"Node\", \"fields\": [{\"name\": \"next\", \"type\": [\"Node\", \"string\"]}]}");
+
+    private static Properties createProperties() {
+        final Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "app");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        properties.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, GenericAvroSerde.class);
+        properties.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, GenericAvroSerde.class);
+        properties.put(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://" + SCOPE);
+        return properties;
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockSchemaRegistry.dropScope(SCOPE);
+    }
+
+    @Test
+    void shouldExerciseSerdesWithoutRegisteringNewVersions() throws IOException, RestClientException {
+        final SchemaRegistryClient client = MockSchemaRegistry.getClientForScope(SCOPE);
+        client.register("input-value", new AvroSchema(SCHEMA));
+        client.register("output-value", new AvroSchema(SCHEMA));
+        final StreamsBuilder builder = new StreamsBuilder();
+        builder.stream("input").to("output");
+        final Topology topology = builder.build();
+
+        final WarmUpResult result = WarmUpRunner.builder()
+                .topology(topology)
+                .appId("app")
+                .kafkaProperties(createProperties())
+                .schemaRegistryClient(client)
+                .iterations(10)
+                .build()
+                .run();
+
+        assertThat(result.getWarmedUpSchemas()).isEqualTo(2);
+        assertThat(result.getElapsed()).isGreaterThan(Duration.ZERO);
+        assertThat(client.getAllVersions("output-value")).hasSize(1);
+    }
+
+    @Test
+    void shouldSkipRecursiveSchemasWithoutNullBranch() throws IOException, RestClientException {
+        final SchemaRegistryClient client = MockSchemaRegistry.getClientForScope(SCOPE);
+        client.register("input-value", new AvroSchema(SCHEMA));
+        client.register("recursive-value", new AvroSchema(RECURSIVE_SCHEMA));
+        final StreamsBuilder builder = new StreamsBuilder();
+        builder.stream("input").to("output");
+        builder.stream("recursive").to("output");
+        final Topology topology = builder.build();
+
+        final WarmUpResult result = WarmUpRunner.builder()
+                .topology(topology)
+                .appId("app")
+                .kafkaProperties(createProperties())
+                .schemaRegistryClient(client)
+                .iterations(10)
+                .build()
+                .run();
+
+        assertThat(result.getWarmedUpSchemas()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.integration;
+
+import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
+import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.useDefaults;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.kafka.KafkaStreamsApplication;
+import com.bakdata.kafka.PerformanceProfile;
+import com.bakdata.kafka.test_applications.Mirror;
+import com.bakdata.schemaregistrymock.junit5.SchemaRegistryMockExtension;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
+import net.mguenther.kafka.junit.KeyValue;
+import net.mguenther.kafka.junit.ObserveKeyValues;
+import net.mguenther.kafka.junit.SendKeyValues;
+import net.mguenther.kafka.junit.TopicConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Checks that the exactly-once performance profiles process all records on an embedded broker. Throughput depends on
+ * the machine running the test, so it is only logged for comparison and not asserted.
+ */
+@Slf4j
+class ExactlyOnceThroughputTest {
+    private static final int TIMEOUT_SECONDS = 10;
+    private static final int RECORDS = 10_000;
+    private static final String INPUT = "input";
+    @RegisterExtension
+    final SchemaRegistryMockExtension schemaRegistryMockExtension = new SchemaRegistryMockExtension();
+    private EmbeddedKafkaCluster kafkaCluster;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        this.kafkaCluster = provisionWith(useDefaults());
+        this.kafkaCluster.start();
+        this.kafkaCluster.createTopic(TopicConfig.forTopic(INPUT).withNumberOfPartitions(3).useDefaults());
+        final List<KeyValue<String, String>> records = IntStream.range(0, RECORDS)
+                .mapToObj(i -> new KeyValue<>("key" + i, "value" + i))
+                .collect(Collectors.toList());
+        this.kafkaCluster.send(SendKeyValues.to(INPUT, records)
+                .with(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class)
+                .with(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class)
+                .build());
+    }
+
+    @AfterEach
+    void teardown() {
+        this.kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldProcessAllRecordsWithBothExactlyOnceProfiles() throws InterruptedException {
+        final Duration exactlyOnce = this.measure(PerformanceProfile.EXACTLY_ONCE, "output-eos");
+        final Duration exactlyOnceBeta = this.measure(PerformanceProfile.EXACTLY_ONCE_BETA, "output-eos-beta");
+        log.info("Processed {} records with {} in {} ({} records/s) and with {} in {} ({} records/s)", RECORDS,
+                PerformanceProfile.EXACTLY_ONCE, exactlyOnce, recordsPerSecond(exactlyOnce),
+                PerformanceProfile.EXACTLY_ONCE_BETA, exactlyOnceBeta, recordsPerSecond(exactlyOnceBeta));
+    }
+
+    private static void awaitRunning(final KafkaStreams streams) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (streams.state() != State.RUNNING) {
+            assertThat(System.nanoTime()).as("Streams application is not running").isLessThan(deadline);
+            Thread.sleep(10L);
+        }
+    }
+
+    private static long recordsPerSecond(final Duration duration) {
+        return RECORDS * 1000L / Math.max(1L, duration.toMillis());
+    }
+
+    private Duration measure(final PerformanceProfile profile, final String output) throws InterruptedException {
+        this.kafkaCluster.createTopic(TopicConfig.forTopic(output).withNumberOfPartitions(3).useDefaults());
+        final KafkaStreamsApplication app = new Mirror();
+        app.setBrokers(this.kafkaCluster.getBrokerList());
+        app.setSchemaRegistryUrl(this.schemaRegistryMockExtension.getUrl());
+        app.setInputTopics(List.of(INPUT));
+        app.setOutputTopic(output);
+        app.setPerformanceProfile(profile);
+        try {
+            app.run();
+            // exclude start-up and the initial rebalance from the measurement
+            awaitRunning(app.getStreams());
+            final long start = System.nanoTime();
+            final ObserveKeyValues<String, String> observe = ObserveKeyValues.on(output, RECORDS)
+                    .with(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
+                    .with(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
+                    .with(ConsumerConfig.ISOLATION_LEVEL_CONFIG,
+                            IsolationLevel.READ_COMMITTED.toString().toLowerCase())
+                    .observeFor(60, TimeUnit.SECONDS)
+                    .build();
+            assertThat(this.kafkaCluster.observe(observe)).hasSize(RECORDS);
+            return Duration.ofNanos(System.nanoTime() - start);
+        } finally {
+            app.close();
+        }
+    }
+}
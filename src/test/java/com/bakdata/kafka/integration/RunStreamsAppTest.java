@@ -27,11 +27,14 @@ package com.bakdata.kafka.integration;
 import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
 import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.useDefaults;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.bakdata.kafka.KafkaStreamsApplication;
 import com.bakdata.kafka.test_applications.Mirror;
+import com.bakdata.kafka.test_applications.StreamTableJoin;
 import com.bakdata.schemaregistrymock.junit5.SchemaRegistryMockExtension;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 import lombok.Getter;
@@ -119,6 +122,47 @@ class RunStreamsAppTest {
         assertThat(closeResourcesApplication.getCalled()).isEqualTo(1);
     }
 
+    @Test
+    void shouldFailPreflightOnMissingInputTopic() {
+        final String input = "input";
+        final String output = "output";
+        this.kafkaCluster.createTopic(TopicConfig.forTopic(output).useDefaults());
+        final CloseResourcesApplication closeResourcesApplication = new CloseResourcesApplication();
+        this.app = closeResourcesApplication;
+        this.app.setBrokers(this.kafkaCluster.getBrokerList());
+        this.app.setSchemaRegistryUrl(this.schemaRegistryMockExtension.getUrl());
+        this.app.setInputTopics(List.of(input));
+        this.app.setOutputTopic(output);
+        this.app.setPreflight(true);
+        assertThatThrownBy(() -> this.app.run())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Source topic 'input' does not exist");
+        assertThat(closeResourcesApplication.getCalled()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailPreflightOnDifferentNumbersOfPartitionsOfJoinedTopics() {
+        final String input = "input";
+        final String table = "table";
+        final String output = "output";
+        this.kafkaCluster.createTopic(TopicConfig.forTopic(input).withNumberOfPartitions(2).useDefaults());
+        this.kafkaCluster.createTopic(TopicConfig.forTopic(table).withNumberOfPartitions(3).useDefaults());
+        this.kafkaCluster.createTopic(TopicConfig.forTopic(output).useDefaults());
+        this.app = new StreamTableJoin();
+        this.app.setBrokers(this.kafkaCluster.getBrokerList());
+        this.app.setSchemaRegistryUrl(this.schemaRegistryMockExtension.getUrl());
+        this.app.setInputTopics(List.of(input));
+        this.app.setExtraInputTopics(Map.of(table, table));
+        this.app.setOutputTopic(output);
+        this.app.setPreflight(true);
+        assertThatThrownBy(() -> this.app.run())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Co-partitioned topics have different numbers of partitions")
+                .hasMessageContaining("input=2")
+                .hasMessageContaining("table=3")
+                .hasMessageNotContaining("does not exist");
+    }
+
     @Test
     void shouldCallCloseResourcesOnMapError() throws InterruptedException {
         final String input = "input";
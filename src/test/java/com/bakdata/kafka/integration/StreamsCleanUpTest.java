@@ -27,6 +27,7 @@ package com.bakdata.kafka.integration;
 
 import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
 import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.defaultClusterConfig;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import com.bakdata.kafka.KafkaStreamsApplication;
 import com.bakdata.kafka.TestRecord;
@@ -34,13 +35,18 @@ import com.bakdata.kafka.test_applications.CloseFlagApp;
 import com.bakdata.kafka.test_applications.ComplexTopologyApplication;
 import com.bakdata.kafka.test_applications.MirrorKeyWithAvro;
 import com.bakdata.kafka.test_applications.MirrorValueWithAvro;
+import com.bakdata.kafka.test_applications.TwoStoreApplication;
 import com.bakdata.kafka.test_applications.WordCount;
 import com.bakdata.schemaregistrymock.junit5.SchemaRegistryMockExtension;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.kafka.serializers.KafkaAvroSerializer;
 import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -60,10 +66,15 @@ import net.mguenther.kafka.junit.TopicConfig;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.ConsumerGroupListing;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.LongDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.state.internals.OffsetCheckpoint;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.AfterEach;
@@ -71,6 +82,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 
 @Slf4j
 @ExtendWith(SoftAssertionsExtension.class)
@@ -78,6 +90,8 @@ class StreamsCleanUpTest {
     private static final int TIMEOUT_SECONDS = 10;
     @RegisterExtension
     final SchemaRegistryMockExtension schemaRegistryMockExtension = new SchemaRegistryMockExtension();
+    @TempDir
+    Path stateDir;
     private EmbeddedKafkaCluster kafkaCluster;
     private KafkaStreamsApplication app = null;
 
@@ -452,17 +466,126 @@ class StreamsCleanUpTest {
         Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
         //should throw exception because consumer group is still active
         softly.assertThatThrownBy(this::runCleanUpWithDeletion)
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Error running streams resetter. Exit code 1");
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is still active");
         this.app.close();
     }
 
+    @Test
+    void shouldResetOnlySelectedStore(final SoftAssertions softly) throws InterruptedException, IOException {
+        this.app = this.setupApp(new TwoStoreApplication(), "store_input", "store_output", "store_error");
+        this.app.setStreamsConfig(Map.of(
+                StreamsConfig.CACHE_MAX_BYTES_BUFFERING_CONFIG, "0",
+                StreamsConfig.STATE_DIR_CONFIG, this.stateDir.toString()
+        ));
+        final SendKeyValuesTransactional<String, String> sendRequest = SendKeyValuesTransactional
+                .inTransaction(this.app.getInputTopic(), List.of(new KeyValue<>("a", "x"), new KeyValue<>("b", "y")))
+                .useDefaults();
+        this.kafkaCluster.send(sendRequest);
+        this.runApp();
+
+        final String appId = this.app.getUniqueAppId();
+        final String countChangelog = appId + "-" + TwoStoreApplication.COUNT_STORE + "-changelog";
+        final String latestChangelog = appId + "-" + TwoStoreApplication.LATEST_STORE + "-changelog";
+        final File taskDir = this.stateDir.resolve(appId).resolve("0_0").toFile();
+        final File checkpointFile = new File(taskDir, ".checkpoint");
+        assertThat(this.kafkaCluster.exists(countChangelog)).isTrue();
+        assertThat(this.kafkaCluster.exists(latestChangelog)).isTrue();
+        assertThat(new File(taskDir, "rocksdb/" + TwoStoreApplication.COUNT_STORE)).exists();
+        assertThat(new OffsetCheckpoint(checkpointFile).read())
+                .containsKeys(new TopicPartition(countChangelog, 0), new TopicPartition(latestChangelog, 0));
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        this.app.setResetStores(List.of(TwoStoreApplication.COUNT_STORE));
+        this.runCleanUp();
+        this.app.setResetStores(List.of());
+
+        softly.assertThat(this.kafkaCluster.exists(countChangelog))
+                .as("Changelog of reset store is deleted")
+                .isFalse();
+        softly.assertThat(this.kafkaCluster.exists(latestChangelog))
+                .as("Changelog of other store is kept")
+                .isTrue();
+        softly.assertThat(new File(taskDir, "rocksdb/" + TwoStoreApplication.COUNT_STORE))
+                .as("Local state of reset store is deleted")
+                .doesNotExist();
+        softly.assertThat(new File(taskDir, "rocksdb/" + TwoStoreApplication.LATEST_STORE))
+                .as("Local state of other store is kept")
+                .exists();
+        softly.assertThat(new OffsetCheckpoint(checkpointFile).read())
+                .as("Only checkpoint of reset store is removed")
+                .containsKey(new TopicPartition(latestChangelog, 0))
+                .doesNotContainKey(new TopicPartition(countChangelog, 0));
+    }
+
+    @Test
+    void shouldReprocessRecordsAfterResetTimestamp(final SoftAssertions softly) throws InterruptedException {
+        this.app = this.createWordCountApplication();
+        final Instant now = Instant.now();
+        this.sendWithTimestamps(Map.of(
+                "blub", now.minus(Duration.ofHours(2L)),
+                "bla", now.minus(Duration.ofHours(1L))
+        ));
+        this.runAndAssertContent(softly, List.of(new KeyValue<>("blub", 1L), new KeyValue<>("bla", 1L)),
+                "WordCount contains all elements after first run");
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        this.app.setResetTimestamp(now.minus(Duration.ofMinutes(90L)));
+        this.runCleanUp();
+        this.app.setResetTimestamp(null);
+
+        // only records after the reset timestamp are reprocessed and state is kept
+        this.runAndAssertContent(softly,
+                List.of(new KeyValue<>("blub", 1L), new KeyValue<>("bla", 1L), new KeyValue<>("bla", 2L)),
+                "Only records after the reset timestamp are reprocessed");
+    }
+
+    @Test
+    void shouldNotReprocessRecordsIfResetTimestampIsAfterLastRecord(final SoftAssertions softly)
+            throws InterruptedException {
+        this.app = this.createWordCountApplication();
+        final Instant now = Instant.now();
+        this.sendWithTimestamps(Map.of("blub", now.minus(Duration.ofHours(1L))));
+        final List<KeyValue<String, Long>> expectedValues = List.of(new KeyValue<>("blub", 1L));
+        this.runAndAssertContent(softly, expectedValues, "WordCount contains all elements after first run");
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        // no offset has a later timestamp, so offsets are reset to the end
+        this.app.setResetTimestamp(now.plus(Duration.ofHours(1L)));
+        this.runCleanUp();
+        this.app.setResetTimestamp(null);
+
+        this.runAndAssertContent(softly, expectedValues, "No records are reprocessed");
+    }
+
+    @Test
+    void shouldRejectResetTimestampAndDuration(final SoftAssertions softly) {
+        this.app = this.createWordCountApplication();
+        this.app.setResetTimestamp(Instant.now());
+        this.app.setResetDuration(Duration.ofHours(1L));
+        softly.assertThatThrownBy(this::runCleanUp)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Only one of --reset-timestamp and --reset-duration can be specified");
+    }
+
     private List<KeyValue<String, Long>> readOutputTopic(final String outputTopic) throws InterruptedException {
         final ReadKeyValues<String, Long> readRequest = ReadKeyValues.from(outputTopic, Long.class)
                 .with(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class).build();
         return this.kafkaCluster.read(readRequest);
     }
 
+    private void sendWithTimestamps(final Map<String, Instant> values) {
+        final Map<String, Object> config = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class
+        );
+        try (final Producer<String, String> producer = new KafkaProducer<>(config)) {
+            values.forEach((value, timestamp) -> producer.send(
+                    new ProducerRecord<>(this.app.getInputTopic(), null, timestamp.toEpochMilli(), null, value)));
+        }
+    }
+
     private void runCleanUp() {
         this.app.setCleanUp(true);
         this.app.run();
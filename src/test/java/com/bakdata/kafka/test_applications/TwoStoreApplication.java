@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.test_applications;
+
+import com.bakdata.kafka.KafkaStreamsApplication;
+import java.util.Properties;
+import lombok.NoArgsConstructor;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Produced;
+
+@NoArgsConstructor
+public class TwoStoreApplication extends KafkaStreamsApplication {
+    public static final String COUNT_STORE = "counts";
+    public static final String LATEST_STORE = "latest";
+
+    @Override
+    public void buildTopology(final StreamsBuilder builder) {
+        final KGroupedStream<String, String> grouped = builder.<String, String>stream(this.getInputTopic())
+                .groupByKey();
+        grouped.count(Materialized.as(COUNT_STORE))
+                .toStream()
+                .to(this.getOutputTopic(), Produced.with(Serdes.String(), Serdes.Long()));
+        grouped.reduce((previous, latest) -> latest, Materialized.as(LATEST_STORE));
+    }
+
+    @Override
+    public String getUniqueAppId() {
+        return this.getClass().getSimpleName() + "-" + this.getInputTopic() + "-" + this.getOutputTopic();
+    }
+
+    @Override
+    public Properties createKafkaProperties() {
+        final Properties kafkaConfig = super.createKafkaProperties();
+        kafkaConfig.setProperty(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.String().getClass().getName());
+        kafkaConfig.setProperty(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.String().getClass().getName());
+        return kafkaConfig;
+    }
+}
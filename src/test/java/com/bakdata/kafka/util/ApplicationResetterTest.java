@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
+import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.defaultClusterConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
+import net.mguenther.kafka.junit.SendValuesTransactional;
+import net.mguenther.kafka.junit.TopicConfig;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApplicationResetterTest {
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(10L);
+    private static final String APP_ID = "app";
+    private static final String INPUT_TOPIC = "input";
+    private static final String INTERMEDIATE_TOPIC = "intermediate";
+    private static final String CHANGELOG_TOPIC = APP_ID + "-store-changelog";
+    private static final String REPARTITION_TOPIC = APP_ID + "-KSTREAM-KEY-SELECT-0000000001-repartition";
+    private static final String OTHER_CHANGELOG_TOPIC = "other-store-changelog";
+    private final EmbeddedKafkaCluster kafkaCluster = provisionWith(defaultClusterConfig());
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        this.kafkaCluster.start();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(10L));
+    }
+
+    @AfterEach
+    void teardown() {
+        this.kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldDetectInternalTopics() {
+        assertThat(ApplicationResetter.isInternalTopic(APP_ID, CHANGELOG_TOPIC)).isTrue();
+        assertThat(ApplicationResetter.isInternalTopic(APP_ID, REPARTITION_TOPIC)).isTrue();
+        assertThat(ApplicationResetter.isInternalTopic(APP_ID, OTHER_CHANGELOG_TOPIC)).isFalse();
+        assertThat(ApplicationResetter.isInternalTopic(APP_ID, APP_ID + "-output")).isFalse();
+        assertThat(ApplicationResetter.isInternalTopic(APP_ID, INPUT_TOPIC)).isFalse();
+    }
+
+    @Test
+    void shouldRejectActiveConsumerGroup() {
+        this.kafkaCluster.createTopic(TopicConfig.withName(INPUT_TOPIC).useDefaults());
+        try (final Consumer<byte[], byte[]> consumer = this.createConsumer();
+                final ImprovedAdminClient adminClient = this.createAdminClient()) {
+            consumer.subscribe(List.of(INPUT_TOPIC));
+            final long deadline = System.nanoTime() + CLIENT_TIMEOUT.toNanos();
+            while (consumer.assignment().isEmpty() && System.nanoTime() < deadline) {
+                consumer.poll(Duration.ofMillis(100L));
+            }
+            assertThat(consumer.assignment()).isNotEmpty();
+            final ApplicationResetter resetter = createResetter(adminClient);
+            assertThatThrownBy(() -> resetter.reset(List.of(INPUT_TOPIC), List.of()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("is still active");
+        }
+    }
+
+    @Test
+    void shouldResetOffsetsAndDeleteInternalTopics() throws InterruptedException, ExecutionException {
+        for (final String topic : List.of(INPUT_TOPIC, INTERMEDIATE_TOPIC, CHANGELOG_TOPIC, REPARTITION_TOPIC,
+                OTHER_CHANGELOG_TOPIC)) {
+            this.kafkaCluster.createTopic(TopicConfig.withName(topic).useDefaults());
+        }
+        for (final String topic : List.of(INPUT_TOPIC, INTERMEDIATE_TOPIC)) {
+            this.kafkaCluster.send(SendValuesTransactional.inTransaction(topic, List.of("a", "b", "c")).useDefaults());
+        }
+        final TopicPartition inputPartition = new TopicPartition(INPUT_TOPIC, 0);
+        final TopicPartition intermediatePartition = new TopicPartition(INTERMEDIATE_TOPIC, 0);
+        try (final Consumer<byte[], byte[]> consumer = this.createConsumer()) {
+            consumer.commitSync(Map.of(
+                    inputPartition, new OffsetAndMetadata(2L),
+                    intermediatePartition, new OffsetAndMetadata(1L)
+            ));
+        }
+
+        try (final ImprovedAdminClient adminClient = this.createAdminClient()) {
+            createResetter(adminClient).reset(List.of(INPUT_TOPIC), List.of(INTERMEDIATE_TOPIC));
+
+            final Map<TopicPartition, OffsetAndMetadata> offsets = adminClient.getAdminClient()
+                    .listConsumerGroupOffsets(APP_ID)
+                    .partitionsToOffsetAndMetadata()
+                    .get();
+            // the end offset includes the transaction marker
+            final long endOffset = getEndOffset(adminClient, intermediatePartition);
+            assertThat(offsets.get(inputPartition).offset()).isZero();
+            assertThat(offsets.get(intermediatePartition).offset()).isEqualTo(endOffset);
+
+            DeletionWaiter.builder()
+                    .topicClient(adminClient.getTopicClient())
+                    .consumerGroupClient(adminClient.getConsumerGroupClient())
+                    .timeout(CLIENT_TIMEOUT)
+                    .build()
+                    .awaitTopicDeletion(List.of(CHANGELOG_TOPIC, REPARTITION_TOPIC));
+            assertThat(adminClient.getTopicClient().existsAll(List.of(CHANGELOG_TOPIC, REPARTITION_TOPIC,
+                    OTHER_CHANGELOG_TOPIC, INPUT_TOPIC, INTERMEDIATE_TOPIC)))
+                    .containsEntry(CHANGELOG_TOPIC, false)
+                    .containsEntry(REPARTITION_TOPIC, false)
+                    .containsEntry(OTHER_CHANGELOG_TOPIC, true)
+                    .containsEntry(INPUT_TOPIC, true)
+                    .containsEntry(INTERMEDIATE_TOPIC, true);
+        }
+    }
+
+    private static ApplicationResetter createResetter(final ImprovedAdminClient adminClient) {
+        return ApplicationResetter.builder()
+                .adminClient(adminClient)
+                .appId(APP_ID)
+                .build();
+    }
+
+    private static long getEndOffset(final ImprovedAdminClient adminClient, final TopicPartition partition)
+            throws InterruptedException, ExecutionException {
+        return adminClient.getAdminClient()
+                .listOffsets(Map.of(partition, OffsetSpec.latest()))
+                .partitionResult(partition)
+                .get()
+                .offset();
+    }
+
+    private Consumer<byte[], byte[]> createConsumer() {
+        return new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList(),
+                ConsumerConfig.GROUP_ID_CONFIG, APP_ID,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class
+        ));
+    }
+
+    private ImprovedAdminClient createAdminClient() {
+        final Properties properties = new Properties();
+        properties.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList());
+        return ImprovedAdminClient.builder()
+                .properties(properties)
+                .schemaRegistryUrl("http://localhost:8081")
+                .timeout(CLIENT_TIMEOUT)
+                .build();
+    }
+}
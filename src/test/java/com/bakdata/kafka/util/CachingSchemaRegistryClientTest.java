@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CachingSchemaRegistryClientTest {
+    private static final Schema SCHEMA = SchemaBuilder.record("Record").fields()
+            .requiredString("value")
+            .endRecord();
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldServeCachedSchemasAfterRestart() throws IOException, RestClientException {
+        final Path cacheFile = this.tempDir.resolve("schema-cache.properties");
+        final ParsedSchema schema = new AvroSchema(SCHEMA);
+        final CachingSchemaRegistryClient client = new CachingSchemaRegistryClient(new MockSchemaRegistryClient(),
+                PersistentSchemaCache.load(cacheFile));
+        final int id = client.register("topic-value", schema);
+        assertThat(client.getSchemaById(id)).isEqualTo(schema);
+        client.getCache().close();
+
+        // the new registry does not know any schemas, so all lookups have to be served by the cache
+        final CachingSchemaRegistryClient restarted = new CachingSchemaRegistryClient(new MockSchemaRegistryClient(),
+                PersistentSchemaCache.load(cacheFile));
+        assertThat(restarted.getCache().size()).isEqualTo(1);
+        assertThat(restarted.getSchemaById(id)).isEqualTo(schema);
+        assertThat(restarted.getSchemaBySubjectAndId("topic-value", id)).isEqualTo(schema);
+        assertThat(restarted.getId("topic-value", schema)).isEqualTo(id);
+        assertThat(restarted.register("topic-value", schema)).isEqualTo(id);
+    }
+
+    @Test
+    void shouldWriteCacheOnlyWhenFlushed() throws IOException, RestClientException {
+        final Path cacheFile = this.tempDir.resolve("schema-cache.properties");
+        final PersistentSchemaCache cache = PersistentSchemaCache.load(cacheFile, Duration.ofHours(1L));
+        final CachingSchemaRegistryClient client =
+                new CachingSchemaRegistryClient(new MockSchemaRegistryClient(), cache);
+        client.register("topic-value", new AvroSchema(SCHEMA));
+        assertThat(cacheFile).doesNotExist();
+        cache.flush();
+        assertThat(PersistentSchemaCache.load(cacheFile).size()).isEqualTo(1);
+        cache.close();
+    }
+
+    @Test
+    void shouldSkipCorruptEntries() throws IOException {
+        final Path cacheFile = this.tempDir.resolve("schema-cache.properties");
+        Files.writeString(cacheFile, String.join("\n",
+                "schema.1=" + SCHEMA,
+                "schema.abc=" + SCHEMA,
+                "schema.2={\"type\": \"record\", \"name\"",
+                "subjects.x=topic-value",
+                "subjects.1=topic-value"));
+        final PersistentSchemaCache cache = PersistentSchemaCache.load(cacheFile);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getId("topic-value", new AvroSchema(SCHEMA))).hasValue(1);
+        cache.close();
+    }
+
+    @Test
+    void shouldLookUpSchemasOnlyOnce() throws IOException, RestClientException {
+        final SchemaRegistryClient registry = mock(SchemaRegistryClient.class);
+        final ParsedSchema schema = new AvroSchema(SCHEMA);
+        when(registry.getId("topic-value", schema)).thenReturn(1);
+        when(registry.getSchemaBySubjectAndId("topic-value", 1)).thenReturn(schema);
+        final CachingSchemaRegistryClient client =
+                new CachingSchemaRegistryClient(registry, PersistentSchemaCache.inMemory());
+        for (int i = 0; i < 10; i++) {
+            assertThat(client.getId("topic-value", new AvroSchema(SCHEMA))).isEqualTo(1);
+            assertThat(client.getSchemaBySubjectAndId("topic-value", 1)).isEqualTo(schema);
+        }
+        verify(registry, times(1)).getId("topic-value", schema);
+        verify(registry, times(1)).getSchemaBySubjectAndId("topic-value", 1);
+    }
+
+    @Test
+    void shouldShareClients() {
+        final Map<String, Object> configs = Map.of(
+                "schema.registry.url", "http://localhost:8081",
+                "max.schemas.per.subject", "10");
+        assertThat(CachingSchemaRegistryClient.getShared(configs))
+                .isSameAs(CachingSchemaRegistryClient.getShared(configs));
+    }
+}
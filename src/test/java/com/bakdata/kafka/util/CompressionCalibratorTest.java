@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bakdata.kafka.util.CompressionCalibration.CodecMeasurement;
+import com.bakdata.kafka.util.CompressionCalibration.CompressionObjective;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.SimpleRecord;
+import org.junit.jupiter.api.Test;
+
+class CompressionCalibratorTest {
+
+    private static List<SimpleRecord> createRecords() {
+        return IntStream.range(0, 1000)
+                .mapToObj(i -> {
+                    final String value = "{\"id\":" + i + ",\"content\":\"some repetitive content\"}";
+                    return new SimpleRecord(("key" + i).getBytes(StandardCharsets.UTF_8),
+                            value.getBytes(StandardCharsets.UTF_8));
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldChooseCodecWithBestRatio() {
+        final CompressionCalibration calibration = CompressionCalibrator.builder()
+                .objective(CompressionObjective.RATIO)
+                .iterations(1)
+                .build()
+                .calibrate(createRecords());
+        assertThat(calibration.getMeasurements())
+                .isNotEmpty()
+                .allSatisfy(measurement -> assertThat(measurement.getRatio()).isGreaterThan(1.0));
+        final CodecMeasurement best = calibration.getMeasurements().stream()
+                .max(Comparator.comparingDouble(CodecMeasurement::getRatio))
+                .orElseThrow();
+        assertThat(calibration.getCompressionType()).isEqualTo(best.getCompressionType());
+    }
+
+    @Test
+    void shouldChooseFastestCodec() {
+        final CompressionCalibration calibration = CompressionCalibrator.builder()
+                .objective(CompressionObjective.SPEED)
+                .iterations(1)
+                .build()
+                .calibrate(createRecords());
+        final CodecMeasurement fastest = calibration.getMeasurements().stream()
+                .max(Comparator.comparingDouble(CodecMeasurement::getBytesPerSecond))
+                .orElseThrow();
+        assertThat(calibration.getCompressionType()).isEqualTo(fastest.getCompressionType());
+    }
+
+    @Test
+    void shouldChooseFastCodecWithGoodRatio() {
+        final List<CodecMeasurement> measurements = List.of(
+                measurement(CompressionType.GZIP, 400L, 100L),
+                measurement(CompressionType.LZ4, 420L, 10L),
+                measurement(CompressionType.SNAPPY, 600L, 5L));
+        assertThat(CompressionObjective.BALANCED.choose(measurements).getCompressionType())
+                .isEqualTo(CompressionType.LZ4);
+    }
+
+    @Test
+    void shouldFailWithoutRecords() {
+        final CompressionCalibrator calibrator = CompressionCalibrator.builder()
+                .objective(CompressionObjective.BALANCED)
+                .build();
+        assertThatThrownBy(() -> calibrator.calibrate(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CodecMeasurement measurement(final CompressionType compressionType, final long compressedBytes,
+            final long nanos) {
+        return CodecMeasurement.builder()
+                .compressionType(compressionType)
+                .uncompressedBytes(1000L)
+                .compressedBytes(compressedBytes)
+                .nanos(nanos)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
+import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.defaultClusterConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
+import net.mguenther.kafka.junit.TopicConfig;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.DescribeConsumerGroupsResult;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConsumerGroupClientTest {
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(10L);
+    private static final String TOPIC = "topic";
+    private static final String EXISTING_GROUP = "existing";
+    private static final String DEAD_GROUP = "dead";
+    private static final String UNKNOWN_GROUP = "unknown";
+    private final EmbeddedKafkaCluster kafkaCluster = provisionWith(defaultClusterConfig());
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        this.kafkaCluster.start();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(10L));
+    }
+
+    @AfterEach
+    void teardown() {
+        this.kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldCheckExistenceOfGroups() {
+        this.kafkaCluster.createTopic(TopicConfig.withName(TOPIC).useDefaults());
+        this.commitOffset(EXISTING_GROUP);
+        this.commitOffset(DEAD_GROUP);
+        try (final ConsumerGroupClient client = this.createClient()) {
+            client.deleteConsumerGroup(DEAD_GROUP);
+            assertThat(client.existsAll(List.of(EXISTING_GROUP, DEAD_GROUP, UNKNOWN_GROUP)))
+                    .containsEntry(EXISTING_GROUP, true)
+                    .containsEntry(DEAD_GROUP, false)
+                    .containsEntry(UNKNOWN_GROUP, false);
+            assertThat(client.exists(EXISTING_GROUP)).isTrue();
+            assertThat(client.exists(UNKNOWN_GROUP)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldDeleteOnlyExistingGroups() {
+        this.kafkaCluster.createTopic(TopicConfig.withName(TOPIC).useDefaults());
+        this.commitOffset(EXISTING_GROUP);
+        try (final ConsumerGroupClient client = this.createClient()) {
+            client.deleteGroupsIfExist(List.of(EXISTING_GROUP, UNKNOWN_GROUP));
+            assertThat(client.existsAll(List.of(EXISTING_GROUP, UNKNOWN_GROUP)))
+                    .containsEntry(EXISTING_GROUP, false)
+                    .containsEntry(UNKNOWN_GROUP, false);
+        }
+    }
+
+    @Test
+    void shouldTreatGroupIdNotFoundAsAbsent() {
+        final AdminClient adminClient = mock(AdminClient.class);
+        final KafkaFutureImpl<ConsumerGroupDescription> notFound = new KafkaFutureImpl<>();
+        notFound.completeExceptionally(new GroupIdNotFoundException("Group " + UNKNOWN_GROUP + " not found"));
+        final Map<String, KafkaFuture<ConsumerGroupDescription>> descriptions = Map.of(UNKNOWN_GROUP, notFound);
+        when(adminClient.describeConsumerGroups(anyCollection()))
+                .thenReturn(new DescribeConsumerGroupsResult(descriptions));
+        final ConsumerGroupClient client = new ConsumerGroupClient(adminClient, CLIENT_TIMEOUT);
+        assertThat(client.existsAll(List.of(UNKNOWN_GROUP))).containsEntry(UNKNOWN_GROUP, false);
+        client.deleteGroupsIfExist(List.of(UNKNOWN_GROUP));
+        verify(adminClient, never()).deleteConsumerGroups(anyCollection());
+    }
+
+    private void commitOffset(final String groupId) {
+        try (final Consumer<byte[], byte[]> consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList(),
+                ConsumerConfig.GROUP_ID_CONFIG, groupId,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class
+        ))) {
+            consumer.commitSync(Map.of(new TopicPartition(TOPIC, 0), new OffsetAndMetadata(0L)));
+        }
+    }
+
+    private ConsumerGroupClient createClient() {
+        final Map<String, Object> config =
+                Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList());
+        return ConsumerGroupClient.create(config, CLIENT_TIMEOUT);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.kafka.util.ConsumerGroupLag.PartitionLag;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class ConsumerGroupLagTest {
+    private static final TopicPartition PARTITION_0 = new TopicPartition("topic", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("topic", 1);
+    private static final Instant NOW = Instant.ofEpochSecond(1_600_000_000L);
+
+    private static ConsumerGroupLag createLag(final Instant timestamp, final long committed0, final long committed1) {
+        return ConsumerGroupLag.builder()
+                .groupId("group")
+                .timestamp(timestamp)
+                .partitions(Map.of(
+                        PARTITION_0, new PartitionLag(committed0, 100L),
+                        PARTITION_1, new PartitionLag(committed1, 100L)))
+                .build();
+    }
+
+    @Test
+    void shouldSumLag() {
+        assertThat(createLag(NOW, 40L, 100L).getTotalLag()).isEqualTo(60L);
+    }
+
+    @Test
+    void shouldNotReturnNegativeLag() {
+        assertThat(new PartitionLag(101L, 100L).getLag()).isZero();
+    }
+
+    @Test
+    void shouldEstimateTimeToCatchUp() {
+        final ConsumerGroupLag previous = createLag(NOW, 0L, 40L);
+        final ConsumerGroupLag current = createLag(NOW.plusSeconds(10L), 50L, 70L);
+        assertThat(current.estimateTimeToCatchUp(previous))
+                .hasValue(Duration.ofSeconds(10L));
+    }
+
+    @Test
+    void shouldNotEstimateTimeToCatchUpIfLagDoesNotDecrease() {
+        final ConsumerGroupLag previous = createLag(NOW, 10L, 10L);
+        final ConsumerGroupLag current = createLag(NOW.plusSeconds(10L), 10L, 10L);
+        assertThat(current.estimateTimeToCatchUp(previous))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldEstimateZeroTimeIfCaughtUp() {
+        final ConsumerGroupLag previous = createLag(NOW, 10L, 10L);
+        final ConsumerGroupLag current = createLag(NOW.plusSeconds(10L), 100L, 100L);
+        assertThat(current.estimateTimeToCatchUp(previous))
+                .hasValue(Duration.ZERO);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.junit.jupiter.api.Test;
+
+class DeletionWaiterTest {
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(10L);
+    private static final String TOPIC = "topic";
+    private static final String GROUP = "group";
+
+    @Test
+    void shouldWaitUntilTopicIsDeleted() {
+        final AdminClient adminClient = mock(AdminClient.class);
+        final ListTopicsResult existing = listTopicsResult(Set.of(TOPIC, "other"));
+        final ListTopicsResult deleted = listTopicsResult(Set.of("other"));
+        when(adminClient.listTopics()).thenReturn(existing, existing, deleted);
+        final DeletionWaiter waiter = createWaiter(adminClient, Duration.ofSeconds(10L));
+
+        waiter.awaitTopicDeletion(List.of(TOPIC));
+        verify(adminClient, times(3)).listTopics();
+    }
+
+    @Test
+    void shouldNotPollIfNothingIsAwaited() {
+        final AdminClient adminClient = mock(AdminClient.class);
+        final DeletionWaiter waiter = createWaiter(adminClient, Duration.ofSeconds(10L));
+
+        waiter.awaitDeletion(List.of(), List.of());
+        verify(adminClient, never()).listTopics();
+    }
+
+    @Test
+    void shouldThrowExceptionAfterTimeout() {
+        final AdminClient adminClient = mock(AdminClient.class);
+        when(adminClient.listTopics()).thenReturn(listTopicsResult(Set.of(TOPIC)));
+        final Duration timeout = Duration.ofMillis(200L);
+        final DeletionWaiter waiter = createWaiter(adminClient, timeout);
+
+        final Instant start = Instant.now();
+        assertThatThrownBy(() -> waiter.awaitTopicDeletion(List.of(TOPIC)))
+                .isInstanceOf(KafkaAdminException.class)
+                .hasMessageContaining(TOPIC);
+        assertThat(Duration.between(start, Instant.now())).isGreaterThanOrEqualTo(timeout);
+        // backoff of 10ms, 20ms, 40ms, 40ms, ... until the timeout is exceeded
+        verify(adminClient, atLeast(3)).listTopics();
+    }
+
+    @Test
+    void shouldRequireConsumerGroupClientForGroups() {
+        final DeletionWaiter waiter = createWaiter(mock(AdminClient.class), Duration.ofSeconds(10L));
+
+        assertThatThrownBy(() -> waiter.awaitDeletion(List.of(), List.of(GROUP)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static DeletionWaiter createWaiter(final AdminClient adminClient, final Duration timeout) {
+        return DeletionWaiter.builder()
+                .topicClient(new TopicClient(adminClient, CLIENT_TIMEOUT))
+                .timeout(timeout)
+                .initialBackoff(Duration.ofMillis(10L))
+                .maxBackoff(Duration.ofMillis(40L))
+                .build();
+    }
+
+    private static ListTopicsResult listTopicsResult(final Set<String> topics) {
+        final ListTopicsResult result = mock(ListTopicsResult.class);
+        when(result.names()).thenReturn(KafkaFuture.completedFuture(topics));
+        return result;
+    }
+}
@@ -31,6 +31,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.bakdata.kafka.TestRecord;
 import com.bakdata.schemaregistrymock.junit5.SchemaRegistryMockExtension;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
@@ -106,4 +107,21 @@ class SchemaTopicClientTest {
                 .doesNotContain(TOPIC + "-value");
     }
 
+    @Test
+    void shouldResetSchemaRegistryForAllTopics() throws IOException, RestClientException {
+        final SchemaRegistryClient client = this.schemaRegistryMockExtension.getSchemaRegistryClient();
+        final AvroSchema schema = new AvroSchema(TestRecord.getClassSchema());
+        client.register("foo-key", schema);
+        client.register("foo-value", schema);
+        client.register("bar-value", schema);
+        client.register("baz-value", schema);
+
+        try (final SchemaTopicClient schemaTopicClient = this.createSchemaTopicClient()) {
+            schemaTopicClient.resetSchemaRegistry(List.of("foo", "bar", "does_not_exist"));
+        }
+
+        assertThat(client.getAllSubjects())
+                .containsExactly("baz-value");
+    }
+
 }
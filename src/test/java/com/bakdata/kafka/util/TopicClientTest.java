@@ -29,7 +29,9 @@ import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
 import net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig;
 import net.mguenther.kafka.junit.EmbeddedKafkaConfig;
@@ -42,11 +44,15 @@ import org.junit.jupiter.api.Test;
 class TopicClientTest {
 
     private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(10L);
+    private static final int DEFAULT_PARTITIONS = 3;
+    private static final short DEFAULT_REPLICATION_FACTOR = 2;
     private final EmbeddedKafkaCluster kafkaCluster = createKafkaCluster();
 
     private static EmbeddedKafkaCluster createKafkaCluster() {
         final EmbeddedKafkaConfig kafkaConfig = EmbeddedKafkaConfig.create()
                 .withNumberOfBrokers(2)
+                .with("num.partitions", DEFAULT_PARTITIONS)
+                .with("default.replication.factor", DEFAULT_REPLICATION_FACTOR)
                 .build();
         final EmbeddedKafkaClusterConfig clusterConfig = EmbeddedKafkaClusterConfig.create()
                 .provisionWith(kafkaConfig)
@@ -80,6 +86,17 @@ class TopicClientTest {
         }
     }
 
+    @Test
+    void shouldFindTopicAsync() {
+        this.kafkaCluster.createTopic(TopicConfig.forTopic("exists").useDefaults());
+        try (final TopicClient client = this.createClient()) {
+            final CompletableFuture<Boolean> exists = client.existsAsync("exists");
+            final CompletableFuture<Boolean> doesNotExist = client.existsAsync("does_not_exist");
+            assertThat(exists.join()).isTrue();
+            assertThat(doesNotExist.join()).isFalse();
+        }
+    }
+
     @Test
     void shouldListTopics() {
         this.kafkaCluster.createTopic(TopicConfig.forTopic("foo").useDefaults());
@@ -104,6 +121,17 @@ class TopicClientTest {
         }
     }
 
+    @Test
+    void shouldDeleteExistingTopics() {
+        this.kafkaCluster.createTopic(TopicConfig.forTopic("foo").useDefaults());
+        this.kafkaCluster.createTopic(TopicConfig.forTopic("bar").useDefaults());
+        try (final TopicClient client = this.createClient()) {
+            client.deleteTopicsIfExist(List.of("foo", "bar", "does_not_exist"));
+            assertThat(client.listTopics())
+                    .isEmpty();
+        }
+    }
+
     @Test
     void shouldCreateTopic() {
         try (final TopicClient client = this.createClient()) {
@@ -122,6 +150,71 @@ class TopicClientTest {
         }
     }
 
+    @Test
+    void shouldCreateAndDescribeMultipleTopics() {
+        try (final TopicClient client = this.createClient()) {
+            final TopicSettings fooSettings = TopicSettings.builder()
+                    .partitions(3)
+                    .replicationFactor((short) 2)
+                    .build();
+            final NewTopicSpec foo = NewTopicSpec.builder()
+                    .settings(fooSettings)
+                    .build();
+            final TopicSettings barSettings = TopicSettings.builder()
+                    .partitions(1)
+                    .replicationFactor((short) 1)
+                    .build();
+            final NewTopicSpec bar = NewTopicSpec.builder()
+                    .settings(barSettings)
+                    .config(Map.of("cleanup.policy", "compact"))
+                    .build();
+            client.createTopics(Map.of("foo", foo, "bar", bar));
+            assertThat(client.existsAll(List.of("foo", "bar", "baz")))
+                    .containsEntry("foo", true)
+                    .containsEntry("bar", true)
+                    .containsEntry("baz", false);
+            assertThat(client.describeAll(List.of("foo", "bar")))
+                    .containsEntry("foo", fooSettings)
+                    .containsEntry("bar", barSettings);
+        }
+    }
+
+    @Test
+    void shouldProvisionTopicsWithPartitionsOfInputTopics() {
+        this.kafkaCluster.createTopic(TopicConfig.forTopic("input").withNumberOfPartitions(4).useDefaults());
+        this.kafkaCluster.createTopic(TopicConfig.forTopic("existing").withNumberOfPartitions(2).useDefaults());
+        try (final TopicClient client = this.createClient()) {
+            final TopicProvisioner provisioner = TopicProvisioner.builder()
+                    .topicClient(client)
+                    .build();
+            final TopicSpec derived = TopicSpec.builder()
+                    .compacted(true)
+                    .build();
+            final TopicSpec explicit = TopicSpec.builder()
+                    .partitions(3)
+                    .build();
+            provisioner.provision(Map.of("output", derived, "existing", explicit), List.of("input"));
+            assertThat(client.describeAll(List.of("output", "existing")))
+                    .hasEntrySatisfying("output", settings -> assertThat(settings.getPartitions()).isEqualTo(4))
+                    .hasEntrySatisfying("existing", settings -> assertThat(settings.getPartitions()).isEqualTo(3));
+        }
+    }
+
+    @Test
+    void shouldProvisionTopicsWithBrokerDefaultsWithoutInputTopics() {
+        try (final TopicClient client = this.createClient()) {
+            final TopicProvisioner provisioner = TopicProvisioner.builder()
+                    .topicClient(client)
+                    .build();
+            provisioner.provision(Map.of("output", TopicSpec.builder().build()), List.of("missing"));
+            assertThat(client.describe("output"))
+                    .satisfies(info -> {
+                        assertThat(info.getPartitions()).isEqualTo(DEFAULT_PARTITIONS);
+                        assertThat(info.getReplicationFactor()).isEqualTo(DEFAULT_REPLICATION_FACTOR);
+                    });
+        }
+    }
+
     private TopicClient createClient() {
         final String brokerList = this.kafkaCluster.getBrokerList();
         final Map<String, Object> config = Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, brokerList);
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka.util;
+
+import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
+import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.defaultClusterConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
+import net.mguenther.kafka.junit.TopicConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.record.SimpleRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TopicSamplerTest {
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(10L);
+    private static final String TOPIC = "topic";
+    private static final int PARTITIONS = 3;
+    private static final int RECORDS_PER_PARTITION = 10;
+    private final EmbeddedKafkaCluster kafkaCluster = provisionWith(defaultClusterConfig());
+
+    private static List<String> getValues(final Collection<SimpleRecord> records) {
+        return records.stream()
+                .map(record -> StandardCharsets.UTF_8.decode(record.value().duplicate()).toString())
+                .collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        this.kafkaCluster.start();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(10L));
+        this.kafkaCluster.createTopic(TopicConfig.withName(TOPIC).withNumberOfPartitions(PARTITIONS).useDefaults());
+    }
+
+    @AfterEach
+    void teardown() {
+        this.kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldSampleLatestRecordsOfEachPartition() {
+        this.produce(Map.of());
+        try (final TopicSampler sampler = this.createSampler()) {
+            final List<SimpleRecord> records = sampler.sample(List.of(TOPIC), 6);
+            assertThat(getValues(records)).containsExactlyInAnyOrder("0-8", "0-9", "1-8", "1-9", "2-8", "2-9");
+        }
+    }
+
+    @Test
+    void shouldSampleAllRecordsIfTopicContainsFewerRecords() {
+        this.produce(Map.of());
+        try (final TopicSampler sampler = this.createSampler()) {
+            final List<SimpleRecord> records = sampler.sample(List.of(TOPIC), 100);
+            assertThat(records).hasSize(PARTITIONS * RECORDS_PER_PARTITION);
+        }
+    }
+
+    @Test
+    void shouldStopAtTransactionMarkers() {
+        this.produce(Map.of(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "sampler-test"));
+        try (final TopicSampler sampler = this.createSampler()) {
+            final long start = System.nanoTime();
+            final List<SimpleRecord> records = sampler.sample(List.of(TOPIC), 100);
+            assertThat(records).hasSize(PARTITIONS * RECORDS_PER_PARTITION);
+            // the sampler must not wait for records behind the commit markers until the timeout expires
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(CLIENT_TIMEOUT);
+        }
+    }
+
+    @Test
+    void shouldIgnoreUnknownTopics() {
+        try (final TopicSampler sampler = this.createSampler()) {
+            assertThat(sampler.sample(List.of("unknown"), 10)).isEmpty();
+        }
+    }
+
+    private void produce(final Map<String, Object> additionalConfigs) {
+        final Map<String, Object> configs = new HashMap<>(additionalConfigs);
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList());
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        final boolean transactional = additionalConfigs.containsKey(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+        try (final Producer<String, String> producer = new KafkaProducer<>(configs)) {
+            if (transactional) {
+                producer.initTransactions();
+                producer.beginTransaction();
+            }
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                for (int i = 0; i < RECORDS_PER_PARTITION; i++) {
+                    producer.send(new ProducerRecord<>(TOPIC, partition, "key", partition + "-" + i));
+                }
+            }
+            if (transactional) {
+                producer.commitTransaction();
+            }
+        }
+    }
+
+    private TopicSampler createSampler() {
+        final Properties properties = new Properties();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.getBrokerList());
+        return TopicSampler.create(properties, CLIENT_TIMEOUT);
+    }
+}
@@ -25,11 +25,14 @@
 package com.bakdata.kafka.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.bakdata.kafka.KafkaStreamsApplication;
 import com.bakdata.kafka.test_applications.ComplexTopologyApplication;
 import java.util.List;
+import java.util.Set;
 import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.KTable;
 import org.apache.kafka.streams.kstream.Materialized;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -100,4 +103,58 @@ class TopologyInformationTest {
                 .allMatch(topic -> topic.endsWith("-changelog") || topic.endsWith("-repartition"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldResolveTopicsOfStore() {
+        final StreamsBuilder streamsBuilder = new StreamsBuilder();
+        streamsBuilder.stream("input")
+                // select key to force repartition
+                .selectKey((k, v) -> v)
+                .groupByKey()
+                .count(Materialized.as("counts"))
+                .toStream()
+                .to("output");
+        final TopologyInformation topologyInformation = new TopologyInformation(streamsBuilder.build(), "id");
+        assertThat(topologyInformation.getStores())
+                .containsExactly("counts");
+        assertThat(topologyInformation.getChangelogTopic("counts"))
+                .isEqualTo("id-counts-changelog");
+        assertThat(topologyInformation.getRepartitionTopics("counts"))
+                .containsExactly("id-counts-repartition");
+        assertThat(topologyInformation.getSubtopologyId("counts"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldThrowForUnknownStore() {
+        assertThatThrownBy(() -> this.topologyInformation.getSubtopologyId("unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReturnDownstreamSubtopologies() {
+        final int windowedSubtopology = this.topologyInformation.getSubtopologyId(
+                this.topologyInformation.getStores().get(0));
+        assertThat(this.topologyInformation.getDownstreamSubtopologyIds(windowedSubtopology))
+                .hasSize(1)
+                .doesNotContain(windowedSubtopology);
+    }
+
+    @Test
+    void shouldReturnCoPartitionedSourceTopics() {
+        final StreamsBuilder streamsBuilder = new StreamsBuilder();
+        final KTable<Object, Object> table = streamsBuilder.table("table");
+        streamsBuilder.stream("input")
+                .join(table, (v1, v2) -> v1)
+                .to("output");
+        final TopologyInformation topologyInformation = new TopologyInformation(streamsBuilder.build(), "id");
+        assertThat(topologyInformation.getCoPartitionedSourceTopics())
+                .containsExactly(Set.of("input", "table"));
+    }
+
+    @Test
+    void shouldNotReturnCoPartitionedSourceTopicsWithoutJoin() {
+        assertThat(this.topologyInformation.getCoPartitionedSourceTopics())
+                .isEmpty();
+    }
+
+}